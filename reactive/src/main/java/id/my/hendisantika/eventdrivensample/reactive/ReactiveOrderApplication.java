@@ -0,0 +1,38 @@
+package id.my.hendisantika.eventdrivensample.reactive;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.10
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Reactive variant of the order API: the same {@code /api/orders} contract served by WebFlux on
+ * Netty, with R2DBC for PostgreSQL and reactor-kafka for events, so no request ever parks a thread.
+ * <p>
+ * The servlet application's classes are on the classpath for the shared DTOs, events and
+ * migrations, so only this package is scanned and configuration is read from
+ * {@code reactive.properties} instead of its {@code application.properties}.
+ */
+@SpringBootApplication
+@ConfigurationPropertiesScan
+@EnableScheduling
+public class ReactiveOrderApplication {
+
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveOrderApplication.class)
+                .properties("spring.config.name=reactive")
+                .run(args);
+    }
+}
@@ -0,0 +1,75 @@
+package id.my.hendisantika.eventdrivensample.reactive.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.my.hendisantika.eventdrivensample.event.BinaryOrderEventCodec;
+import id.my.hendisantika.eventdrivensample.event.OrderEventCodec;
+import id.my.hendisantika.eventdrivensample.service.SnowflakeIdGenerator;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderOptions;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.15
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Configuration
+public class ReactiveOrderConfig {
+
+    /**
+     * Same mapper as the servlet application, so both stacks return identical JSON.
+     */
+    @Bean
+    public ObjectMapper objectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+        return objectMapper;
+    }
+
+    @Bean
+    public OrderEventCodec orderEventCodec(ObjectMapper objectMapper) {
+        return new BinaryOrderEventCodec(objectMapper);
+    }
+
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${order.id.node-id:0}") long nodeId) {
+        return new SnowflakeIdGenerator(nodeId);
+    }
+
+    /**
+     * Idempotent producer with the servlet application's default settings. reactor-kafka keeps at
+     * most {@code order.reactive.max-in-flight} records outstanding and only then requests more.
+     */
+    @Bean(destroyMethod = "close")
+    public KafkaSender<String, byte[]> kafkaSender(@Value("${spring.kafka.bootstrap-servers}") String bootstrapServers,
+                                                   ReactiveOrderProperties properties) {
+        Map<String, Object> config = new HashMap<>();
+        config.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
+        config.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        config.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class);
+        config.put(ProducerConfig.ACKS_CONFIG, "all");
+        config.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        config.putAll(properties.getProducer());
+
+        SenderOptions<String, byte[]> options = SenderOptions.<String, byte[]>create(config)
+                .maxInFlight(properties.getMaxInFlight())
+                .stopOnError(false);
+        return KafkaSender.create(options);
+    }
+}
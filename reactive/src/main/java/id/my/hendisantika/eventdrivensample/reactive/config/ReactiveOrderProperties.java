@@ -0,0 +1,53 @@
+package id.my.hendisantika.eventdrivensample.reactive.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.12
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "order.reactive")
+public class ReactiveOrderProperties {
+
+    /**
+     * Maximum number of unacknowledged records per producer. Once reached, sends stop requesting
+     * from upstream, which slows the HTTP body and R2DBC reads feeding them.
+     */
+    private int maxInFlight = 1024;
+
+    /**
+     * Extra Kafka producer properties, on top of {@code spring.kafka.bootstrap-servers} and the
+     * defaults set in {@link ReactiveOrderConfig}.
+     */
+    private Map<String, String> producer = new HashMap<>();
+
+    /**
+     * Number of orders written per transaction by {@code POST /api/orders/batch}.
+     */
+    private int batchChunkSize = 1000;
+
+    /**
+     * Pause between outbox sweeps. Rows are normally sent and deleted right after the transaction
+     * that wrote them; the sweep only picks up rows whose send failed or whose instance stopped in
+     * between.
+     */
+    private long outboxSweepMs = 5000;
+
+    /**
+     * Maximum number of outbox rows locked and sent per drain.
+     */
+    private int outboxBatchSize = 500;
+}
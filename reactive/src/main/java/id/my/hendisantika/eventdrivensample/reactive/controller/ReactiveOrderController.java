@@ -0,0 +1,173 @@
+package id.my.hendisantika.eventdrivensample.reactive.controller;
+
+import id.my.hendisantika.eventdrivensample.dto.BatchOrderResult;
+import id.my.hendisantika.eventdrivensample.dto.OrderPage;
+import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.reactive.service.ReactiveOrderService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.52
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * The {@code /api/orders} contract of the servlet {@code OrderController}, with the same paths,
+ * bodies, headers and status codes.
+ */
+@RestController
+@RequestMapping("/api/orders")
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOrderController {
+
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private final ReactiveOrderService orderService;
+
+    @PostMapping
+    public Mono<ResponseEntity<OrderResponse>> createOrder(@RequestBody OrderRequest orderRequest) {
+        return orderService.createOrder(orderRequest)
+                .map(orderResponse -> ResponseEntity.status(HttpStatus.CREATED).body(orderResponse))
+                .onErrorResume(e -> {
+                    log.error("Error creating order", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    /**
+     * Creates many orders in one call. The array is decoded element by element and results are
+     * written as each chunk completes, in request order.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<BatchOrderResult> createOrders(@RequestBody Flux<OrderRequest> orderRequests) {
+        return orderService.createOrders(orderRequests);
+    }
+
+    /**
+     * NDJSON variant of {@link #createOrders(Flux)}: one order per line.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE, produces = MediaType.APPLICATION_JSON_VALUE)
+    public Flux<BatchOrderResult> createOrdersFromStream(@RequestBody Flux<String> lines) {
+        return orderService.createOrdersFromLines(lines);
+    }
+
+    /**
+     * Returns one page of orders. When more orders follow, the cursor for the next page is
+     * returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
+    @GetMapping
+    public Mono<ResponseEntity<List<OrderResponse>>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return orderService.getOrdersPage(cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)))
+                .map(ReactiveOrderController::toPageResponse)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.error("Invalid orders cursor: {}", cursor, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error fetching all orders", e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<OrderResponse> exportOrders() {
+        return orderService.exportOrders();
+    }
+
+    @GetMapping("/{orderNumber}")
+    public Mono<ResponseEntity<OrderResponse>> getOrderByNumber(@PathVariable String orderNumber) {
+        return orderService.getOrderByNumber(orderNumber)
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Order not found: {}", orderNumber, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.NOT_FOUND).build());
+                });
+    }
+
+    /**
+     * Returns one page of the customer's orders, newest first, with the next page's cursor in the
+     * {@value #NEXT_CURSOR_HEADER} header.
+     */
+    @GetMapping("/customer/{customerEmail}")
+    public Mono<ResponseEntity<List<OrderResponse>>> getOrdersByCustomerEmail(
+            @PathVariable String customerEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
+        return orderService.getOrdersByCustomerEmail(customerEmail, cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)))
+                .map(ReactiveOrderController::toPageResponse)
+                .onErrorResume(IllegalArgumentException.class, e -> {
+                    log.error("Invalid orders cursor: {}", cursor, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+                })
+                .onErrorResume(e -> {
+                    log.error("Error fetching orders for customer: {}", customerEmail, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build());
+                });
+    }
+
+    @PutMapping("/{orderNumber}/confirm")
+    public Mono<ResponseEntity<OrderResponse>> confirmOrder(@PathVariable String orderNumber) {
+        return transition(orderService.confirmOrder(orderNumber), "confirming", orderNumber);
+    }
+
+    @PutMapping("/{orderNumber}/ship")
+    public Mono<ResponseEntity<OrderResponse>> shipOrder(@PathVariable String orderNumber) {
+        return transition(orderService.shipOrder(orderNumber), "shipping", orderNumber);
+    }
+
+    @PutMapping("/{orderNumber}/deliver")
+    public Mono<ResponseEntity<OrderResponse>> deliverOrder(@PathVariable String orderNumber) {
+        return transition(orderService.deliverOrder(orderNumber), "delivering", orderNumber);
+    }
+
+    @PutMapping("/{orderNumber}/cancel")
+    public Mono<ResponseEntity<OrderResponse>> cancelOrder(@PathVariable String orderNumber) {
+        return transition(orderService.cancelOrder(orderNumber), "cancelling", orderNumber);
+    }
+
+    private static ResponseEntity<List<OrderResponse>> toPageResponse(OrderPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.getNextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+        }
+        return response.body(page.getOrders());
+    }
+
+    private static Mono<ResponseEntity<OrderResponse>> transition(Mono<OrderResponse> result, String action,
+                                                                  String orderNumber) {
+        return result
+                .map(ResponseEntity::ok)
+                .onErrorResume(e -> {
+                    log.error("Error {} order: {}", action, orderNumber, e);
+                    return Mono.just(ResponseEntity.status(HttpStatus.BAD_REQUEST).build());
+                });
+    }
+}
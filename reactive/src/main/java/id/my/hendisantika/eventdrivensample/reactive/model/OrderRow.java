@@ -0,0 +1,48 @@
+package id.my.hendisantika.eventdrivensample.reactive.model;
+
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.18
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * R2DBC mapping of the {@code orders} table shared with the servlet application. Ids are assigned
+ * from {@code orders_seq} before insert, and {@code version} is bumped by the conditional status update.
+ */
+@Table("orders")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderRow {
+
+    @Id
+    private Long id;
+    private String orderNumber;
+    private String customerName;
+    private String customerEmail;
+    private String productName;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal totalAmount;
+    private OrderStatus status;
+    private Long version;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,40 @@
+package id.my.hendisantika.eventdrivensample.reactive.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.LocalDateTime;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.19
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * R2DBC mapping of the {@code order_outbox} table. Rows are written in the same transaction as the
+ * order change and deleted once the broker has acknowledged them.
+ */
+@Table("order_outbox")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OutboxRow {
+
+    @Id
+    private Long id;
+    private String topic;
+    private String messageKey;
+    private String eventType;
+    private byte[] payload;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,72 @@
+package id.my.hendisantika.eventdrivensample.reactive.repository;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.25
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Hands out ids from a PostgreSQL sequence with {@code INCREMENT BY} {@link #BLOCK_SIZE}, the way
+ * Hibernate's pooled optimizer does for the servlet application: each {@code nextval} {@code v}
+ * reserves the block {@code [v - 49, v]}. Both stacks can therefore insert into the same tables
+ * without colliding, and only one id in fifty costs a round trip.
+ * <p>
+ * Callers that find the current block exhausted each fetch a new one; the ids left in a block that
+ * is replaced concurrently are skipped, which only leaves a gap.
+ */
+public class PooledSequence {
+
+    static final int BLOCK_SIZE = 50;
+
+    private final DatabaseClient databaseClient;
+    private final String nextValueSql;
+    private final AtomicReference<Block> block = new AtomicReference<>();
+
+    public PooledSequence(DatabaseClient databaseClient, String sequenceName) {
+        this.databaseClient = databaseClient;
+        this.nextValueSql = "SELECT nextval('" + sequenceName + "')";
+    }
+
+    public Mono<Long> nextId() {
+        Block current = block.get();
+        if (current != null) {
+            long id = current.next.getAndIncrement();
+            if (id <= current.high) {
+                return Mono.just(id);
+            }
+        }
+        return databaseClient.sql(nextValueSql)
+                .map(row -> row.get(0, Long.class))
+                .one()
+                .map(high -> {
+                    Block fetched = new Block(high);
+                    long id = fetched.next.getAndIncrement();
+                    block.set(fetched);
+                    return id;
+                });
+    }
+
+    private static final class Block {
+
+        private final AtomicLong next;
+        private final long high;
+
+        Block(long high) {
+            this.next = new AtomicLong(high - BLOCK_SIZE + 1);
+            this.high = high;
+        }
+    }
+}
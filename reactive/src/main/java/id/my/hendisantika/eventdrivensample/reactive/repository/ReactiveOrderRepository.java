@@ -0,0 +1,79 @@
+package id.my.hendisantika.eventdrivensample.reactive.repository;
+
+import id.my.hendisantika.eventdrivensample.reactive.model.OrderRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.21
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Reactive counterpart of {@code OrderRepository}, with the same queries on the same indexes.
+ * Rows are inserted through {@code R2dbcEntityTemplate}, since ids are assigned before insert.
+ */
+@Repository
+public interface ReactiveOrderRepository extends ReactiveCrudRepository<OrderRow, Long> {
+
+    Mono<OrderRow> findByOrderNumber(String orderNumber);
+
+    /**
+     * First page of a customer's orders, newest first, read backwards along
+     * {@code ix_orders_customer_email_created_at_id}.
+     */
+    @Query("SELECT * FROM orders WHERE customer_email = :customerEmail ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<OrderRow> findHistoryFirstPage(String customerEmail, int limit);
+
+    /**
+     * Keyset page of a customer's orders strictly before the {@code (createdAt, id)} position of the
+     * previous page, newest first. The row-value comparison bounds the backward range scan on
+     * {@code ix_orders_customer_email_created_at_id} at the cursor.
+     */
+    @Query("SELECT * FROM orders WHERE customer_email = :customerEmail AND (created_at, id) < (:createdAt, :id) " +
+            "ORDER BY created_at DESC, id DESC LIMIT :limit")
+    Flux<OrderRow> findHistoryPageBefore(String customerEmail, LocalDateTime createdAt, Long id, int limit);
+
+    @Query("SELECT status FROM orders WHERE order_number = :orderNumber")
+    Mono<String> findStatusByOrderNumber(String orderNumber);
+
+    /**
+     * Moves the order to {@code toStatus} if its current status is one of {@code fromStatuses}, in a
+     * single statement. Completes empty if the order does not exist or is in another status.
+     */
+    @Query("UPDATE orders SET status = :toStatus, version = version + 1, updated_at = :updatedAt " +
+            "WHERE order_number = :orderNumber AND status IN (:fromStatuses) RETURNING *")
+    Mono<OrderRow> updateStatus(String orderNumber, Collection<String> fromStatuses,
+                                String toStatus, LocalDateTime updatedAt);
+
+    @Query("SELECT * FROM orders ORDER BY created_at, id LIMIT :limit")
+    Flux<OrderRow> findFirstPage(int limit);
+
+    /**
+     * Keyset page: orders strictly after the {@code (createdAt, id)} position of the previous page.
+     * The row-value comparison lets PostgreSQL start a range scan on {@code (created_at, id)}
+     * at the cursor instead of filtering from the start of the index.
+     */
+    @Query("SELECT * FROM orders WHERE (created_at, id) > (:createdAt, :id) ORDER BY created_at, id LIMIT :limit")
+    Flux<OrderRow> findPageAfter(LocalDateTime createdAt, Long id, int limit);
+
+    /**
+     * Every order in {@code (createdAt, id)} order. Rows are decoded as the subscriber requests
+     * them, so a slow client holds back the driver instead of buffering the table.
+     */
+    @Query("SELECT * FROM orders ORDER BY created_at, id")
+    Flux<OrderRow> streamAll();
+}
@@ -0,0 +1,39 @@
+package id.my.hendisantika.eventdrivensample.reactive.repository;
+
+import id.my.hendisantika.eventdrivensample.reactive.model.OutboxRow;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.Collection;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.22
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Repository
+public interface ReactiveOutboxRepository extends ReactiveCrudRepository<OutboxRow, Long> {
+
+    /**
+     * Locks the oldest rows. {@code SKIP LOCKED} keeps concurrent drains, other instances and the
+     * servlet application's relay from taking the same row.
+     */
+    @Query("SELECT * FROM order_outbox ORDER BY id LIMIT :limit FOR UPDATE SKIP LOCKED")
+    Flux<OutboxRow> lockNextBatch(int limit);
+
+    /**
+     * The oldest row of each of {@code messageKeys}, whether or not another transaction holds it.
+     */
+    @Query("SELECT DISTINCT ON (message_key) * FROM order_outbox WHERE message_key IN (:messageKeys) " +
+            "ORDER BY message_key, id")
+    Flux<OutboxRow> findOldestOfKeys(Collection<String> messageKeys);
+}
@@ -0,0 +1,72 @@
+package id.my.hendisantika.eventdrivensample.reactive.service;
+
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventCodec;
+import id.my.hendisantika.eventdrivensample.event.OrderEventOutbox;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.reactive.model.OrderRow;
+import id.my.hendisantika.eventdrivensample.reactive.model.OutboxRow;
+import id.my.hendisantika.eventdrivensample.service.SnowflakeIdGenerator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.28
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Maps {@link OrderRow}s to API responses and to outbox rows carrying the encoded event.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderRowMapper {
+
+    private final SnowflakeIdGenerator idGenerator;
+    private final OrderEventCodec orderEventCodec;
+
+    public OrderResponse toResponse(OrderRow order) {
+        return new OrderResponse(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomerName(),
+                order.getCustomerEmail(),
+                order.getProductName(),
+                order.getQuantity(),
+                order.getUnitPrice(),
+                order.getTotalAmount(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt()
+        );
+    }
+
+    public OutboxRow toOutbox(Long outboxId, OrderRow order, OrderEventType eventType) {
+        OrderEvent orderEvent = new OrderEvent();
+        orderEvent.setEventId(idGenerator.nextId());
+        orderEvent.setEventType(eventType);
+        orderEvent.setOrderId(order.getId());
+        orderEvent.setOrderNumber(order.getOrderNumber());
+        orderEvent.setCustomerName(order.getCustomerName());
+        orderEvent.setCustomerEmail(order.getCustomerEmail());
+        orderEvent.setProductName(order.getProductName());
+        orderEvent.setQuantity(order.getQuantity());
+        orderEvent.setUnitPrice(order.getUnitPrice());
+        orderEvent.setTotalAmount(order.getTotalAmount());
+        orderEvent.setStatus(order.getStatus());
+        orderEvent.setTimestamp(LocalDateTime.now());
+
+        return new OutboxRow(outboxId, OrderEventOutbox.ORDER_TOPIC, order.getOrderNumber(), eventType.name(),
+                orderEventCodec.encode(orderEvent), LocalDateTime.now());
+    }
+}
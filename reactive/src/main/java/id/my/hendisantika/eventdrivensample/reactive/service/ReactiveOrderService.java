@@ -0,0 +1,336 @@
+package id.my.hendisantika.eventdrivensample.reactive.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.my.hendisantika.eventdrivensample.dto.BatchOrderResult;
+import id.my.hendisantika.eventdrivensample.dto.OrderPage;
+import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import id.my.hendisantika.eventdrivensample.reactive.config.ReactiveOrderProperties;
+import id.my.hendisantika.eventdrivensample.reactive.model.OrderRow;
+import id.my.hendisantika.eventdrivensample.reactive.model.OutboxRow;
+import id.my.hendisantika.eventdrivensample.reactive.repository.PooledSequence;
+import id.my.hendisantika.eventdrivensample.reactive.repository.ReactiveOrderRepository;
+import id.my.hendisantika.eventdrivensample.service.OrderBatchService;
+import id.my.hendisantika.eventdrivensample.service.OrderCursor;
+import id.my.hendisantika.eventdrivensample.service.OrderTransition;
+import id.my.hendisantika.eventdrivensample.service.SnowflakeIdGenerator;
+import id.my.hendisantika.eventdrivensample.service.SnowflakeOrderNumberGenerator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.r2dbc.core.R2dbcEntityTemplate;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.40
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Non-blocking counterpart of {@code OrderService} and {@code OrderBatchService}. Every write stores
+ * the order change and its outbox row in one R2DBC transaction, then drains the outbox through
+ * {@link ReactiveOutboxRelay} and completes once that drain is done, so a slow broker slows the
+ * callers rather than growing a queue. The row itself may be sent by a concurrent drain, or wait
+ * behind an older unsent event of the same order.
+ */
+@Service
+@Slf4j
+public class ReactiveOrderService {
+
+    /**
+     * Same limit as the servlet batch endpoint.
+     */
+    static final int MAX_ITEMS = 50_000;
+
+    private final ReactiveOrderRepository orderRepository;
+    private final R2dbcEntityTemplate entityTemplate;
+    private final TransactionalOperator transactionalOperator;
+    private final OrderRowMapper orderRowMapper;
+    private final ReactiveOutboxRelay outboxRelay;
+    private final SnowflakeIdGenerator idGenerator;
+    private final ObjectMapper objectMapper;
+    private final ReactiveOrderProperties properties;
+    private final PooledSequence orderIds;
+    private final PooledSequence outboxIds;
+
+    public ReactiveOrderService(ReactiveOrderRepository orderRepository,
+                                R2dbcEntityTemplate entityTemplate,
+                                TransactionalOperator transactionalOperator,
+                                OrderRowMapper orderRowMapper,
+                                ReactiveOutboxRelay outboxRelay,
+                                SnowflakeIdGenerator idGenerator,
+                                ObjectMapper objectMapper,
+                                ReactiveOrderProperties properties) {
+        this.orderRepository = orderRepository;
+        this.entityTemplate = entityTemplate;
+        this.transactionalOperator = transactionalOperator;
+        this.orderRowMapper = orderRowMapper;
+        this.outboxRelay = outboxRelay;
+        this.idGenerator = idGenerator;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        DatabaseClient databaseClient = entityTemplate.getDatabaseClient();
+        this.orderIds = new PooledSequence(databaseClient, "orders_seq");
+        this.outboxIds = new PooledSequence(databaseClient, "order_outbox_seq");
+    }
+
+    public Mono<OrderResponse> createOrder(OrderRequest orderRequest) {
+        return prepare(orderRequest)
+                .flatMap(pending -> insert(pending)
+                        .as(transactionalOperator::transactional)
+                        .then(outboxRelay.drain())
+                        .thenReturn(orderRowMapper.toResponse(pending.order())));
+    }
+
+    /**
+     * Creates orders from a JSON array. Items are validated one by one and valid items are written
+     * in chunks of {@code order.reactive.batch-chunk-size}, one transaction per chunk. The next chunk
+     * is only read from the request once the previous one has been written and the outbox drained. The request
+     * is cancelled at the first item past {@value #MAX_ITEMS}, which is rejected once for the rest.
+     */
+    public Flux<BatchOrderResult> createOrders(Flux<OrderRequest> orderRequests) {
+        return createItems(orderRequests.take(MAX_ITEMS + 1L)
+                .index()
+                .map(indexed -> new BatchItem(indexed.getT1().intValue(), indexed.getT2(), null)));
+    }
+
+    /**
+     * Reads one JSON {@link OrderRequest} per line. A line that cannot be parsed is rejected
+     * without affecting the other lines.
+     */
+    public Flux<BatchOrderResult> createOrdersFromLines(Flux<String> lines) {
+        return createItems(lines.filter(line -> !line.isBlank())
+                .take(MAX_ITEMS + 1L)
+                .index()
+                .map(indexed -> parse(indexed.getT1().intValue(), indexed.getT2())));
+    }
+
+    public Mono<OrderResponse> confirmOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.CONFIRM);
+    }
+
+    public Mono<OrderResponse> shipOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.SHIP);
+    }
+
+    public Mono<OrderResponse> deliverOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.DELIVER);
+    }
+
+    public Mono<OrderResponse> cancelOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.CANCEL);
+    }
+
+    public Mono<OrderResponse> getOrderByNumber(String orderNumber) {
+        return orderRepository.findByOrderNumber(orderNumber)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Order not found: " + orderNumber)))
+                .map(orderRowMapper::toResponse);
+    }
+
+    /**
+     * Returns up to {@code limit} of the customer's orders, newest first, starting before {@code cursor}.
+     */
+    public Mono<OrderPage> getOrdersByCustomerEmail(String customerEmail, String cursor, int limit) {
+        return toPage(Flux.defer(() -> {
+            if (cursor == null || cursor.isBlank()) {
+                return orderRepository.findHistoryFirstPage(customerEmail, limit);
+            }
+            OrderCursor position = OrderCursor.decode(cursor);
+            return orderRepository.findHistoryPageBefore(customerEmail, position.createdAt(), position.id(), limit);
+        }), limit);
+    }
+
+    /**
+     * Returns up to {@code limit} orders in {@code (createdAt, id)} order, starting after {@code cursor}.
+     */
+    public Mono<OrderPage> getOrdersPage(String cursor, int limit) {
+        return toPage(Flux.defer(() -> {
+            if (cursor == null || cursor.isBlank()) {
+                return orderRepository.findFirstPage(limit);
+            }
+            OrderCursor position = OrderCursor.decode(cursor);
+            return orderRepository.findPageAfter(position.createdAt(), position.id(), limit);
+        }), limit);
+    }
+
+    /**
+     * Every order in {@code (createdAt, id)} order, read from the database only as fast as the
+     * client consumes the response.
+     */
+    public Flux<OrderResponse> exportOrders() {
+        return orderRepository.streamAll().map(orderRowMapper::toResponse);
+    }
+
+    private Mono<OrderPage> toPage(Flux<OrderRow> rows, int limit) {
+        return rows.collectList()
+                .map(orders -> {
+                    String nextCursor = null;
+                    if (orders.size() == limit) {
+                        OrderRow last = orders.get(orders.size() - 1);
+                        nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+                    }
+                    return new OrderPage(orders.stream().map(orderRowMapper::toResponse).toList(), nextCursor);
+                });
+    }
+
+    /**
+     * Applies a status change with one conditional {@code UPDATE ... RETURNING} and stores its event
+     * in the same transaction. The status is only read again when the update matched nothing, to
+     * tell a missing order from one in the wrong status.
+     */
+    private Mono<OrderResponse> applyTransition(String orderNumber, OrderTransition transition) {
+        return outboxIds.nextId()
+                .flatMap(outboxId -> orderRepository.updateStatus(orderNumber, transition.getSourceStatusNames(),
+                                transition.getTargetStatus().name(), LocalDateTime.now())
+                        .switchIfEmpty(Mono.defer(() -> rejectTransition(orderNumber, transition)))
+                        .flatMap(order -> {
+                            OutboxRow outbox = orderRowMapper.toOutbox(outboxId, order, transition.getEventType());
+                            return entityTemplate.insert(outbox).thenReturn(new PendingOrder(order, outbox));
+                        })
+                        .as(transactionalOperator::transactional))
+                .flatMap(pending -> outboxRelay.drain()
+                        .thenReturn(orderRowMapper.toResponse(pending.order())));
+    }
+
+    private Mono<OrderRow> rejectTransition(String orderNumber, OrderTransition transition) {
+        return orderRepository.findStatusByOrderNumber(orderNumber)
+                .switchIfEmpty(Mono.error(() -> new RuntimeException("Order not found: " + orderNumber)))
+                .flatMap(current -> Mono.error(transition.rejection(orderNumber, OrderStatus.valueOf(current))));
+    }
+
+    private Flux<BatchOrderResult> createItems(Flux<BatchItem> items) {
+        return Flux.defer(() -> {
+            long[] counts = new long[2];
+            return items.buffer(properties.getBatchChunkSize())
+                    .concatMap(this::createChunk, 1)
+                    .doOnNext(result -> counts[result.isSuccess() ? 0 : 1]++)
+                    .doOnComplete(() -> log.info("Batch order creation: {} created, {} rejected", counts[0], counts[1]));
+        });
+    }
+
+    /**
+     * Writes the valid items of one chunk in a single transaction and returns a result per item,
+     * in request order. If the transaction fails, every valid item of the chunk is rejected.
+     */
+    private Flux<BatchOrderResult> createChunk(List<BatchItem> chunk) {
+        List<BatchItem> valid = new ArrayList<>(chunk.size());
+        for (BatchItem item : chunk) {
+            if (item.error() == null) {
+                valid.add(item);
+            }
+        }
+
+        Mono<Map<Integer, OrderResponse>> created = Flux.fromIterable(valid)
+                .concatMap(item -> prepare(item.request()).map(pending -> Map.entry(item.index(), pending)))
+                .collectList()
+                .flatMap(pendingOrders -> Flux.fromIterable(pendingOrders)
+                        .concatMap(entry -> insert(entry.getValue()))
+                        .then()
+                        .as(transactionalOperator::transactional)
+                        .then(outboxRelay.drain())
+                        .then(Mono.fromSupplier(() -> {
+                            Map<Integer, OrderResponse> responses = new HashMap<>();
+                            for (Map.Entry<Integer, PendingOrder> entry : pendingOrders) {
+                                responses.put(entry.getKey(), orderRowMapper.toResponse(entry.getValue().order()));
+                            }
+                            return responses;
+                        })));
+
+        return created
+                .map(responses -> results(chunk, responses, null))
+                .onErrorResume(e -> {
+                    log.error("Error creating chunk of {} orders", valid.size(), e);
+                    return Mono.just(results(chunk, Map.of(), "Error creating order: " + e.getMessage()));
+                })
+                .flatMapIterable(results -> results);
+    }
+
+    private static List<BatchOrderResult> results(List<BatchItem> chunk, Map<Integer, OrderResponse> responses,
+                                                  String chunkError) {
+        List<BatchOrderResult> results = new ArrayList<>(chunk.size());
+        for (BatchItem item : chunk) {
+            if (item.error() != null) {
+                results.add(new BatchOrderResult(item.index(), false, null, item.error()));
+            } else if (chunkError != null) {
+                results.add(new BatchOrderResult(item.index(), false, null, chunkError));
+            } else {
+                results.add(new BatchOrderResult(item.index(), true, responses.get(item.index()), null));
+            }
+        }
+        return results;
+    }
+
+    private BatchItem parse(int index, String line) {
+        if (index >= MAX_ITEMS) {
+            return new BatchItem(index, null, null);
+        }
+        try {
+            return new BatchItem(index, objectMapper.readValue(line, OrderRequest.class), null);
+        } catch (JsonProcessingException e) {
+            return new BatchItem(index, null, "Malformed order: " + e.getOriginalMessage());
+        }
+    }
+
+    private Mono<PendingOrder> prepare(OrderRequest orderRequest) {
+        return Mono.zip(orderIds.nextId(), outboxIds.nextId())
+                .map(ids -> {
+                    OrderRow order = newOrder(ids.getT1(), orderRequest);
+                    return new PendingOrder(order, orderRowMapper.toOutbox(ids.getT2(), order, OrderEventType.ORDER_CREATED));
+                });
+    }
+
+    private Mono<Void> insert(PendingOrder pending) {
+        return entityTemplate.insert(pending.order())
+                .then(entityTemplate.insert(pending.outbox()))
+                .then();
+    }
+
+    private OrderRow newOrder(Long id, OrderRequest orderRequest) {
+        LocalDateTime now = LocalDateTime.now();
+        BigDecimal totalAmount = orderRequest.getUnitPrice() != null && orderRequest.getQuantity() != null
+                ? orderRequest.getUnitPrice().multiply(BigDecimal.valueOf(orderRequest.getQuantity()))
+                : null;
+        return new OrderRow(id, SnowflakeOrderNumberGenerator.format(idGenerator.nextId()),
+                orderRequest.getCustomerName(), orderRequest.getCustomerEmail(), orderRequest.getProductName(),
+                orderRequest.getQuantity(), orderRequest.getUnitPrice(), totalAmount, OrderStatus.CREATED,
+                0L, now, now);
+    }
+
+    private record PendingOrder(OrderRow order, OutboxRow outbox) {
+    }
+
+    /**
+     * One batch entry with its zero-based position. Entries are validated on construction and
+     * {@code error} is set when the entry is rejected.
+     */
+    private record BatchItem(int index, OrderRequest request, String error) {
+
+        BatchItem {
+            if (index >= MAX_ITEMS) {
+                request = null;
+                error = OrderBatchService.OVERFLOW_ERROR;
+            } else if (error == null) {
+                error = OrderBatchService.validate(request);
+            }
+        }
+    }
+}
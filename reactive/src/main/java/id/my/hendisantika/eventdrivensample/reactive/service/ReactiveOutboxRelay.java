@@ -0,0 +1,142 @@
+package id.my.hendisantika.eventdrivensample.reactive.service;
+
+import id.my.hendisantika.eventdrivensample.reactive.config.ReactiveOrderProperties;
+import id.my.hendisantika.eventdrivensample.reactive.model.OutboxRow;
+import id.my.hendisantika.eventdrivensample.reactive.repository.ReactiveOutboxRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.kafka.sender.KafkaSender;
+import reactor.kafka.sender.SenderRecord;
+import reactor.kafka.sender.SenderResult;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.32
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Sends outbox rows to Kafka in id order and deletes the ones the broker acknowledged. Every send
+ * goes through {@link #drain()}, which locks the oldest rows with {@code FOR UPDATE SKIP LOCKED},
+ * like the servlet application's relay: writes drain the outbox right after they commit, and a
+ * periodic sweep picks up rows left behind by a failed send or a stopped instance. A row is never
+ * sent while an older row of the same order is still in the outbox, so an order's events reach the
+ * topic in the order they were written even when a send fails.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class ReactiveOutboxRelay {
+
+    private final KafkaSender<String, byte[]> kafkaSender;
+    private final ReactiveOutboxRepository outboxRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ReactiveOrderProperties properties;
+
+    /**
+     * Relays the outbox in batches of the oldest unlocked rows, one transaction per batch, until a
+     * batch is short or not fully delivered. Rows locked by another drain or by the servlet relay are
+     * skipped, and so are the rows of an order whose oldest row is one of them. Failures are logged,
+     * never signalled: the rows stay in the outbox for the next drain.
+     */
+    public Mono<Void> drain() {
+        return drainBatch()
+                .expand(relayed -> relayed >= properties.getOutboxBatchSize() ? drainBatch() : Mono.empty())
+                .then();
+    }
+
+    @Scheduled(fixedDelayString = "${order.reactive.outbox-sweep-ms:5000}")
+    public Mono<Void> sweep() {
+        return drain();
+    }
+
+    /**
+     * Emits the number of rows delivered and deleted.
+     */
+    private Mono<Integer> drainBatch() {
+        return outboxRepository.lockNextBatch(properties.getOutboxBatchSize())
+                .collectList()
+                .flatMap(this::relayBatch)
+                .as(transactionalOperator::transactional)
+                .onErrorResume(e -> {
+                    log.warn("Outbox drain failed: {}", e.getMessage());
+                    return Mono.just(0);
+                });
+    }
+
+    private Mono<Integer> relayBatch(List<OutboxRow> batch) {
+        if (batch.isEmpty()) {
+            return Mono.just(0);
+        }
+        Set<String> keys = batch.stream().map(OutboxRow::getMessageKey).collect(Collectors.toSet());
+        return outboxRepository.findOldestOfKeys(keys)
+                .collectMap(OutboxRow::getMessageKey, OutboxRow::getId)
+                .flatMap(oldestIds -> {
+                    List<OutboxRow> sendable = firstInLine(batch, oldestIds);
+                    Flux<SenderRecord<String, byte[], Long>> records = Flux.fromIterable(sendable)
+                            .map(row -> SenderRecord.create(new ProducerRecord<>(
+                                    row.getTopic(), row.getMessageKey(), row.getPayload()), row.getId()));
+                    return kafkaSender.send(records)
+                            .collectMap(SenderResult::correlationMetadata, result -> result.exception() == null)
+                            .flatMap(acked -> {
+                                List<Long> delivered = deliveredInKeyOrder(sendable, acked);
+                                if (delivered.size() < batch.size()) {
+                                    log.warn("{} of {} outbox events were not delivered and stay for the next drain",
+                                            batch.size() - delivered.size(), batch.size());
+                                }
+                                return delivered.isEmpty() ? Mono.just(0)
+                                        : outboxRepository.deleteAllById(delivered).thenReturn(delivered.size());
+                            });
+                });
+    }
+
+    /**
+     * The rows of {@code batch} whose message key has its oldest outbox row in the batch. Other rows
+     * wait behind an older row of the same order that another drain or the servlet relay holds.
+     */
+    static List<OutboxRow> firstInLine(List<OutboxRow> batch, Map<String, Long> oldestIds) {
+        Set<Long> batchIds = batch.stream().map(OutboxRow::getId).collect(Collectors.toSet());
+        return batch.stream()
+                .filter(row -> batchIds.contains(oldestIds.getOrDefault(row.getMessageKey(), row.getId())))
+                .toList();
+    }
+
+    /**
+     * The ids of the acknowledged rows of {@code sent} that precede the first unacknowledged row of
+     * their message key. {@code sent} is in id order, which is the order the events were written in.
+     */
+    static List<Long> deliveredInKeyOrder(List<OutboxRow> sent, Map<Long, Boolean> acked) {
+        List<Long> delivered = new ArrayList<>(sent.size());
+        Set<String> blockedKeys = new HashSet<>();
+        for (OutboxRow row : sent) {
+            if (blockedKeys.contains(row.getMessageKey())) {
+                continue;
+            }
+            if (acked.getOrDefault(row.getId(), false)) {
+                delivered.add(row.getId());
+            } else {
+                blockedKeys.add(row.getMessageKey());
+            }
+        }
+        return delivered;
+    }
+}
@@ -0,0 +1,259 @@
+package id.my.hendisantika.eventdrivensample.reactive;
+
+import id.my.hendisantika.eventdrivensample.dto.BatchOrderResult;
+import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import id.my.hendisantika.eventdrivensample.reactive.repository.PooledSequence;
+import id.my.hendisantika.eventdrivensample.reactive.service.ReactiveOrderService;
+import id.my.hendisantika.eventdrivensample.service.OrderBatchService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.testcontainers.containers.KafkaContainer;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import org.testcontainers.utility.DockerImageName;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration test for the reactive order API against PostgreSQL and Kafka Testcontainers: batch
+ * results and cap, the transition guard, cursor paging, export, and id allocation next to the
+ * servlet application.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.config.name=reactive")
+@Testcontainers
+class ReactiveOrderApiIntegrationTest {
+
+    /**
+     * Same cap as the servlet batch endpoint.
+     */
+    private static final int MAX_ITEMS = 50_000;
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @Container
+    static KafkaContainer kafka = new KafkaContainer(DockerImageName.parse("confluentinc/cp-kafka:7.4.0"));
+
+    @DynamicPropertySource
+    static void configureProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.r2dbc.url", () -> "r2dbc:postgresql://" + postgres.getHost() + ":"
+                + postgres.getMappedPort(PostgreSQLContainer.POSTGRESQL_PORT) + "/" + postgres.getDatabaseName());
+        registry.add("spring.r2dbc.username", postgres::getUsername);
+        registry.add("spring.r2dbc.password", postgres::getPassword);
+        registry.add("spring.flyway.url", postgres::getJdbcUrl);
+        registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
+    }
+
+    @Autowired
+    private WebTestClient webTestClient;
+
+    @Autowired
+    private ReactiveOrderService orderService;
+
+    @Autowired
+    private DatabaseClient databaseClient;
+
+    @BeforeEach
+    void setUp() {
+        databaseClient.sql("DELETE FROM orders").then().block();
+    }
+
+    @Test
+    void shouldReturnResultPerBatchItemInRequestOrder() {
+        // Given
+        List<OrderRequest> batch = List.of(
+                orderRequest("batch@example.com", "Product 1", 1),
+                orderRequest("batch@example.com", "Product 2", 0),
+                orderRequest("batch@example.com", "Product 3", 3));
+
+        // When
+        List<BatchOrderResult> results = webTestClient.post().uri("/api/orders/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(batch)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(BatchOrderResult.class)
+                .returnResult().getResponseBody();
+
+        // Then
+        assertThat(results).extracting(BatchOrderResult::getIndex).containsExactly(0, 1, 2);
+        assertThat(results).extracting(BatchOrderResult::isSuccess).containsExactly(true, false, true);
+        assertThat(results.get(1).getError()).isEqualTo("quantity must be positive");
+        assertThat(results.get(2).getOrder().getTotalAmount()).isEqualByComparingTo("90.00");
+        assertThat(countRows("orders")).isEqualTo(2);
+        assertThat(countRows("order_outbox")).isZero();
+    }
+
+    @Test
+    void shouldStopReadingBatchAtCap() {
+        // Given - more lines than the cap; blank orders are rejected without touching the database
+        AtomicInteger read = new AtomicInteger();
+        Flux<String> lines = Flux.range(0, MAX_ITEMS + 100).map(i -> "{}").doOnNext(line -> read.incrementAndGet());
+
+        // When
+        List<BatchOrderResult> results = orderService.createOrdersFromLines(lines).collectList().block();
+
+        // Then - one result per item up to the cap, then a single overflow rejection
+        assertThat(results).hasSize(MAX_ITEMS + 1);
+        assertThat(results.get(0).getError()).isEqualTo("customerName is required");
+        BatchOrderResult overflow = results.get(MAX_ITEMS);
+        assertThat(overflow.getIndex()).isEqualTo(MAX_ITEMS);
+        assertThat(overflow.getError()).isEqualTo(OrderBatchService.OVERFLOW_ERROR);
+        assertThat(read.get()).isEqualTo(MAX_ITEMS + 1);
+    }
+
+    @Test
+    void shouldOnlyApplyAllowedTransitions() {
+        // Given
+        String orderNumber = createOrder("guard@example.com", "Guarded Product");
+
+        // When / Then - shipping before confirming is rejected with the current status
+        StepVerifier.create(orderService.shipOrder(orderNumber))
+                .expectErrorMessage("Cannot ship order in status CREATED: " + orderNumber)
+                .verify();
+        webTestClient.put().uri("/api/orders/{orderNumber}/ship", orderNumber).exchange()
+                .expectStatus().isBadRequest();
+
+        webTestClient.put().uri("/api/orders/{orderNumber}/confirm", orderNumber).exchange()
+                .expectStatus().isOk()
+                .expectBody(OrderResponse.class)
+                .value(order -> assertThat(order.getStatus()).isEqualTo(OrderStatus.CONFIRMED));
+
+        StepVerifier.create(orderService.confirmOrder(orderNumber))
+                .expectErrorMessage("Cannot confirm order in status CONFIRMED: " + orderNumber)
+                .verify();
+        StepVerifier.create(orderService.cancelOrder("ORD-MISSING"))
+                .expectErrorMessage("Order not found: ORD-MISSING")
+                .verify();
+    }
+
+    @Test
+    void shouldPageThroughOrdersWithEqualCreatedAt() {
+        // Given - five orders created at the same instant, so only the id tells them apart
+        for (int i = 1; i <= 5; i++) {
+            createOrder("paging@example.com", "Product " + i);
+        }
+        databaseClient.sql("UPDATE orders SET created_at = :createdAt")
+                .bind("createdAt", LocalDateTime.of(2026, 10, 17, 12, 0))
+                .then().block();
+
+        // When - read in pages of two, following the next-page cursor
+        List<Long> ids = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            String query = "/api/orders?limit=2" + (cursor == null ? "" : "&cursor=" + cursor);
+            EntityExchangeResult<List<OrderResponse>> page = webTestClient.get().uri(query).exchange()
+                    .expectStatus().isOk()
+                    .expectBodyList(OrderResponse.class)
+                    .returnResult();
+            page.getResponseBody().forEach(order -> ids.add(order.getId()));
+            cursor = page.getResponseHeaders().getFirst("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        // Then - every order exactly once, in id order
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        webTestClient.get().uri("/api/orders?cursor=not-a-cursor").exchange()
+                .expectStatus().isBadRequest();
+    }
+
+    @Test
+    void shouldExportEveryOrderInCreationOrder() {
+        // Given
+        List<String> orderNumbers = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            orderNumbers.add(createOrder("export@example.com", "Product " + i));
+        }
+
+        // When
+        List<OrderResponse> exported = webTestClient.get().uri("/api/orders/export")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(OrderResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(exported).extracting(OrderResponse::getOrderNumber).containsExactlyElementsOf(orderNumbers);
+    }
+
+    @Test
+    void shouldNotReuseIdsHandedOutByHibernatePooledOptimizer() {
+        // Given - Hibernate's pooled optimizer reserves [v - 49, v] for each nextval v
+        PooledSequence reactiveIds = new PooledSequence(databaseClient, "orders_seq");
+        Set<Long> hibernateIds = new HashSet<>();
+        List<Long> allocated = new ArrayList<>();
+
+        // When - both stacks allocate from orders_seq in turn
+        for (int i = 0; i < 300; i++) {
+            allocated.add(reactiveIds.nextId().block());
+            if (i % 40 == 0) {
+                long high = databaseClient.sql("SELECT nextval('orders_seq')")
+                        .map(row -> row.get(0, Long.class)).one().block();
+                for (long id = high - 49; id <= high; id++) {
+                    hibernateIds.add(id);
+                }
+            }
+        }
+
+        // Then
+        assertThat(allocated).doesNotHaveDuplicates().doesNotContainAnyElementsOf(hibernateIds);
+    }
+
+    private String createOrder(String customerEmail, String productName) {
+        return webTestClient.post().uri("/api/orders")
+                .bodyValue(orderRequest(customerEmail, productName, 1))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(OrderResponse.class)
+                .returnResult().getResponseBody().getOrderNumber();
+    }
+
+    private long countRows(String table) {
+        return databaseClient.sql("SELECT COUNT(*) FROM " + table)
+                .map(row -> row.get(0, Long.class)).one().block();
+    }
+
+    private static OrderRequest orderRequest(String customerEmail, String productName, int quantity) {
+        OrderRequest request = new OrderRequest();
+        request.setCustomerName("Reactive User");
+        request.setCustomerEmail(customerEmail);
+        request.setProductName(productName);
+        request.setQuantity(quantity);
+        request.setUnitPrice(new BigDecimal("30.00"));
+        return request;
+    }
+}
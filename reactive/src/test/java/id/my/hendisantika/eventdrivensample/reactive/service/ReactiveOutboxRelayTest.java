@@ -0,0 +1,62 @@
+package id.my.hendisantika.eventdrivensample.reactive.service;
+
+import id.my.hendisantika.eventdrivensample.reactive.model.OutboxRow;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Per-order ordering tests for the batch selection and deletion of {@link ReactiveOutboxRelay}.
+ */
+class ReactiveOutboxRelayTest {
+
+    @Test
+    void shouldHoldBackOrdersWhoseOldestRowIsOutsideTheBatch() {
+        // Given - the oldest row of ORD-A (id 1) is locked by another drain
+        OutboxRow a2 = outboxRow(2L, "ORD-A");
+        OutboxRow b1 = outboxRow(3L, "ORD-B");
+        OutboxRow a3 = outboxRow(4L, "ORD-A");
+
+        // When
+        List<OutboxRow> sendable = ReactiveOutboxRelay.firstInLine(List.of(a2, b1, a3),
+                Map.of("ORD-A", 1L, "ORD-B", 3L));
+
+        // Then
+        assertThat(sendable).containsExactly(b1);
+    }
+
+    @Test
+    void shouldKeepFailedRowAndLaterRowsOfTheSameKey() {
+        // Given - the second event of ORD-A fails while its third event and ORD-B are acknowledged
+        OutboxRow a1 = outboxRow(1L, "ORD-A");
+        OutboxRow a2 = outboxRow(2L, "ORD-A");
+        OutboxRow b1 = outboxRow(3L, "ORD-B");
+        OutboxRow a3 = outboxRow(4L, "ORD-A");
+
+        // When
+        List<Long> delivered = ReactiveOutboxRelay.deliveredInKeyOrder(List.of(a1, a2, b1, a3),
+                Map.of(1L, true, 2L, false, 3L, true, 4L, true));
+
+        // Then - a2 and a3 stay, so the next drain sends them again in their original order
+        assertThat(delivered).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void shouldKeepRowsWithoutSendResult() {
+        // When
+        List<Long> delivered = ReactiveOutboxRelay.deliveredInKeyOrder(
+                List.of(outboxRow(1L, "ORD-A"), outboxRow(2L, "ORD-A")), Map.of(2L, true));
+
+        // Then
+        assertThat(delivered).isEmpty();
+    }
+
+    private static OutboxRow outboxRow(Long id, String orderNumber) {
+        return new OutboxRow(id, "order-events", orderNumber, "ORDER_CONFIRMED", new byte[]{id.byteValue()},
+                LocalDateTime.now());
+    }
+}
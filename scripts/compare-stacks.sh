@@ -0,0 +1,66 @@
+#!/bin/bash
+# Runs the servlet application and the reactive module side by side on the same CPU budget and
+# compares them with StackComparisonLoadTest. Expects the compose.yaml services to be running.
+#
+#   CPUS=2 CONCURRENCY=2000 ./scripts/compare-stacks.sh
+
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+CPUS=${CPUS:-2}
+CONCURRENCY=${CONCURRENCY:-2000}
+REQUESTS_PER_CLIENT=${REQUESTS_PER_CLIENT:-5}
+SERVLET_PORT=${SERVLET_PORT:-18080}
+REACTIVE_PORT=${REACTIVE_PORT:-18090}
+JAVA_OPTS="-XX:ActiveProcessorCount=${CPUS} -Xms512m -Xmx512m"
+
+./gradlew -q bootJar :reactive:bootJar
+
+SERVLET_JAR=$(ls build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)
+REACTIVE_JAR=$(ls reactive/build/libs/*.jar | grep -v -- '-plain.jar' | head -n 1)
+
+pids=()
+cleanup() {
+    for pid in "${pids[@]}"; do
+        kill "$pid" 2>/dev/null || true
+    done
+    wait 2>/dev/null || true
+}
+trap cleanup EXIT
+
+wait_for_health() {
+    local url=$1
+    for _ in $(seq 1 60); do
+        if curl -sf "$url/actuator/health" > /dev/null; then
+            return 0
+        fi
+        sleep 1
+    done
+    echo "Timed out waiting for $url" >&2
+    return 1
+}
+
+# Distinct node ids keep snowflake order numbers unique across the two stacks
+ORDER_NODE_ID=1 java $JAVA_OPTS -jar "$SERVLET_JAR" \
+    --server.port="$SERVLET_PORT" \
+    --spring.jpa.show-sql=false \
+    --logging.level.id.my.hendisantika.eventdrivensample=WARN \
+    > build/compare-servlet.log 2>&1 &
+pids+=($!)
+
+ORDER_NODE_ID=2 java $JAVA_OPTS -jar "$REACTIVE_JAR" \
+    --server.port="$REACTIVE_PORT" \
+    --logging.level.id.my.hendisantika.eventdrivensample=WARN \
+    > build/compare-reactive.log 2>&1 &
+pids+=($!)
+
+wait_for_health "http://localhost:$SERVLET_PORT"
+wait_for_health "http://localhost:$REACTIVE_PORT"
+
+echo "Comparing stacks with ${CPUS} CPUs, ${CONCURRENCY} concurrent clients"
+./gradlew loadTest --tests '*StackComparisonLoadTest' \
+    -Dload.servletUrl="http://localhost:$SERVLET_PORT" \
+    -Dload.reactiveUrl="http://localhost:$REACTIVE_PORT" \
+    -Dload.concurrency="$CONCURRENCY" \
+    -Dload.requestsPerClient="$REQUESTS_PER_CLIENT"
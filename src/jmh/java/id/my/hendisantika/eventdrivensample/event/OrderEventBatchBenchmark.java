@@ -0,0 +1,145 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.ObjectMapperConfig;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import id.my.hendisantika.eventdrivensample.service.SnowflakeOrderNumberGenerator;
+import org.apache.kafka.common.compress.Compression;
+import org.apache.kafka.common.record.CompressionType;
+import org.apache.kafka.common.record.MemoryRecords;
+import org.apache.kafka.common.record.MemoryRecordsBuilder;
+import org.apache.kafka.common.record.Record;
+import org.apache.kafka.common.record.TimestampType;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds {@code order-events} record batches the way the producer does, for the producer settings of
+ * the default setup and of the {@code kafka-latency} and {@code kafka-throughput} profiles.
+ * <p>
+ * The {@code events} and {@code bytes} counters are reported per second, so {@code events} is the
+ * single-core batching and compression throughput and {@code bytes / events} is the size of one
+ * event on the wire, batch overhead included. Batches are filled to {@code batch.size}, which is
+ * what the throughput profile's linger achieves under load; with {@code linger.ms=0} batches are
+ * usually smaller, so real compression ratios for the latency profile are lower.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class OrderEventBatchBenchmark {
+
+    private static final int DISTINCT_EVENTS = 4096;
+    private static final String[] PRODUCTS = {"Laptop", "Tablet", "Phone", "Monitor", "Keyboard", "Mouse", "Headphones"};
+    private static final String[] NAMES = {"John Doe", "Jane Smith", "Budi Santoso", "Siti Rahayu", "Alex Lee"};
+    private static final OrderEventType[] TYPES = OrderEventType.values();
+
+    /**
+     * Producer profile: compression type and {@code batch.size}.
+     */
+    @Param({"default", "latency", "throughput"})
+    private String profile;
+
+    @Param({"binary", "json"})
+    private String codec;
+
+    private Compression compression;
+    private int batchSize;
+    private byte[][] keys;
+    private byte[][] values;
+    private int next;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Wire {
+        public long events;
+        public long bytes;
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        switch (profile) {
+            case "default" -> {
+                compression = Compression.NONE;
+                batchSize = 16_384;
+            }
+            case "latency" -> {
+                compression = Compression.of(CompressionType.LZ4).build();
+                batchSize = 16_384;
+            }
+            case "throughput" -> {
+                compression = Compression.of(CompressionType.ZSTD).build();
+                batchSize = 131_072;
+            }
+            default -> throw new IllegalArgumentException("Unknown profile: " + profile);
+        }
+
+        OrderEventCodec orderEventCodec = codec.equals("json")
+                ? new JsonOrderEventCodec(new ObjectMapperConfig().objectMapper())
+                : new BinaryOrderEventCodec(new ObjectMapperConfig().objectMapper());
+        Random random = new Random(42);
+        long eventId = 310_945_624_577_490_944L;
+        LocalDateTime timestamp = LocalDateTime.of(2026, 10, 17, 9, 30);
+        keys = new byte[DISTINCT_EVENTS][];
+        values = new byte[DISTINCT_EVENTS][];
+        for (int i = 0; i < DISTINCT_EVENTS; i++) {
+            String orderNumber = SnowflakeOrderNumberGenerator.format(eventId + random.nextInt(1 << 20));
+            String name = NAMES[random.nextInt(NAMES.length)];
+            int quantity = 1 + random.nextInt(5);
+            BigDecimal unitPrice = BigDecimal.valueOf(1_000 + random.nextInt(200_000), 2);
+            OrderEventType eventType = TYPES[random.nextInt(TYPES.length)];
+            OrderEvent event = new OrderEvent(eventId + i * 4_096L, eventType,
+                    1L + random.nextInt(1_000_000), orderNumber, name,
+                    name.toLowerCase().replace(' ', '.') + "@example.com", PRODUCTS[random.nextInt(PRODUCTS.length)],
+                    quantity, unitPrice, unitPrice.multiply(BigDecimal.valueOf(quantity)),
+                    statusAfter(eventType),
+                    timestamp.plusNanos(random.nextInt(1_000_000_000)));
+            keys[i] = orderNumber.getBytes(StandardCharsets.UTF_8);
+            values[i] = orderEventCodec.encode(event);
+        }
+    }
+
+    private static OrderStatus statusAfter(OrderEventType eventType) {
+        return switch (eventType) {
+            case ORDER_CREATED -> OrderStatus.CREATED;
+            case ORDER_CONFIRMED -> OrderStatus.CONFIRMED;
+            case ORDER_SHIPPED -> OrderStatus.SHIPPED;
+            case ORDER_DELIVERED -> OrderStatus.DELIVERED;
+            case ORDER_CANCELLED -> OrderStatus.CANCELLED;
+        };
+    }
+
+    @Benchmark
+    public MemoryRecords buildBatch(Wire wire) {
+        MemoryRecordsBuilder builder = MemoryRecords.builder(
+                ByteBuffer.allocate(batchSize), compression, TimestampType.CREATE_TIME, 0L);
+        long timestamp = System.currentTimeMillis();
+        int appended = 0;
+        while (true) {
+            int i = next;
+            if (appended > 0 && !builder.hasRoomFor(timestamp, keys[i], values[i], Record.EMPTY_HEADERS)) {
+                break;
+            }
+            builder.append(timestamp, keys[i], values[i]);
+            next = (i + 1) % DISTINCT_EVENTS;
+            appended++;
+        }
+        MemoryRecords records = builder.build();
+        wire.events += appended;
+        wire.bytes += records.sizeInBytes();
+        return records;
+    }
+}
@@ -0,0 +1,77 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.my.hendisantika.eventdrivensample.config.ObjectMapperConfig;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Producer-side encoding and consumer-side decoding of {@link OrderEvent} with the plain
+ * {@link ObjectMapper} and with both {@link OrderEventCodec} implementations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderEventSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JsonOrderEventCodec jsonCodec;
+    private BinaryOrderEventCodec binaryCodec;
+    private OrderEvent event;
+    private byte[] jsonPayload;
+    private byte[] binaryPayload;
+
+    @Setup
+    public void setUp() {
+        objectMapper = new ObjectMapperConfig().objectMapper();
+        jsonCodec = new JsonOrderEventCodec(objectMapper);
+        binaryCodec = new BinaryOrderEventCodec(objectMapper);
+        event = new OrderEvent(310_945_624_577_490_944L, OrderEventType.ORDER_CONFIRMED,
+                123_456L, "ORD-01JB8ZQ3K7M2N", "John Doe", "john.doe@example.com", "Laptop", 2,
+                new BigDecimal("999.99"), new BigDecimal("1999.98"), OrderStatus.CONFIRMED,
+                LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_789));
+        jsonPayload = jsonCodec.encode(event);
+        binaryPayload = binaryCodec.encode(event);
+    }
+
+    @Benchmark
+    public String objectMapperWriteString() throws Exception {
+        return objectMapper.writeValueAsString(event);
+    }
+
+    @Benchmark
+    public OrderEvent objectMapperReadString() throws Exception {
+        return objectMapper.readValue(new String(jsonPayload, StandardCharsets.UTF_8), OrderEvent.class);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonCodec.encode(event);
+    }
+
+    @Benchmark
+    public OrderEvent jsonDecode() {
+        return jsonCodec.decode(jsonPayload);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binaryCodec.encode(event);
+    }
+
+    @Benchmark
+    public OrderEvent binaryDecode() {
+        return binaryCodec.decode(binaryPayload);
+    }
+}
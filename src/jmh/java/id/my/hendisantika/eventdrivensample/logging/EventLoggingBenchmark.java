@@ -0,0 +1,117 @@
+package id.my.hendisantika.eventdrivensample.logging;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.encoder.PatternLayoutEncoder;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.Appender;
+import ch.qos.logback.core.FileAppender;
+import id.my.hendisantika.eventdrivensample.config.LoggingProperties;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-event log line cost with four threads logging to a file, as the consumer does for every
+ * record:
+ * <ul>
+ *     <li>{@code sync}: every line is formatted and written on the caller thread (the default setup);</li>
+ *     <li>{@code async}: lines are handed to an {@link AsyncAppender} as in the {@code prod} profile;</li>
+ *     <li>{@code sampled}: async plus {@link LogSampler} at 20 lines per second.</li>
+ * </ul>
+ * The async variants drop lines once the queue fills, which is the trade-off the prod profile makes;
+ * compare the log file sizes as well as the throughput.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(4)
+public class EventLoggingBenchmark {
+
+    private static final String ORDER_NUMBER = "ORD-01JB8ZQ3K7M2N";
+
+    @Param({"sync", "async", "sampled"})
+    public String mode;
+
+    private LoggerContext context;
+    private Logger logger;
+    private LogSampler logSampler;
+    private File logFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        logFile = File.createTempFile("event-logging-" + mode, ".log");
+        context = new LoggerContext();
+
+        PatternLayoutEncoder encoder = new PatternLayoutEncoder();
+        encoder.setContext(context);
+        encoder.setPattern("%d{yyyy-MM-dd'T'HH:mm:ss.SSSXXX} %5level [%thread] %logger{36} : %msg %kvp%n");
+        encoder.start();
+
+        FileAppender<ILoggingEvent> fileAppender = new FileAppender<>();
+        fileAppender.setContext(context);
+        fileAppender.setName("FILE");
+        fileAppender.setFile(logFile.getPath());
+        fileAppender.setEncoder(encoder);
+        fileAppender.start();
+
+        Appender<ILoggingEvent> appender = fileAppender;
+        if (!"sync".equals(mode)) {
+            AsyncAppender asyncAppender = new AsyncAppender();
+            asyncAppender.setContext(context);
+            asyncAppender.setName("ASYNC");
+            asyncAppender.setQueueSize(8192);
+            asyncAppender.setNeverBlock(true);
+            asyncAppender.addAppender(fileAppender);
+            asyncAppender.start();
+            appender = asyncAppender;
+        }
+
+        Logger root = context.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME);
+        root.setLevel(ch.qos.logback.classic.Level.INFO);
+        root.addAppender(appender);
+        logger = context.getLogger(EventLoggingBenchmark.class);
+
+        LoggingProperties loggingProperties = new LoggingProperties();
+        loggingProperties.setSampledEventsPerSecond("sampled".equals(mode) ? 20 : 0);
+        logSampler = new LogSampler(loggingProperties);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.stop();
+        System.out.printf("%n%s: %,d bytes logged%n", mode, logFile.length());
+        logFile.delete();
+    }
+
+    @Benchmark
+    public void logEvent() {
+        long suppressed = logSampler.sample("ORDER_CONFIRMED");
+        if (suppressed != LogSampler.SUPPRESSED) {
+            logger.atInfo()
+                    .addKeyValue("orderNumber", ORDER_NUMBER)
+                    .addKeyValue("eventType", "ORDER_CONFIRMED")
+                    .addKeyValue("suppressed", suppressed)
+                    .log("Processing order confirmation for order: {}", ORDER_NUMBER);
+        }
+    }
+
+    @Benchmark
+    public void debugDisabled() {
+        logger.debug("Received order event: {} for order: {} from topic: {}",
+                "ORDER_CONFIRMED", ORDER_NUMBER, "order-events");
+    }
+}
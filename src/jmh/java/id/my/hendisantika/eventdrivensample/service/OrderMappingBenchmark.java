@@ -0,0 +1,66 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import id.my.hendisantika.eventdrivensample.config.ObjectMapperConfig;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.BinaryOrderEventCodec;
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.model.Order;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-order work {@link OrderService} does outside the database: building the API response,
+ * building the outbox event, and building plus encoding it as the outbox does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderMappingBenchmark {
+
+    private final OrderMapper orderMapper = new OrderMapper(new SnowflakeIdGenerator(1));
+    private BinaryOrderEventCodec codec;
+    private Order order;
+
+    @Setup
+    public void setUp() {
+        codec = new BinaryOrderEventCodec(new ObjectMapperConfig().objectMapper());
+        order = new Order();
+        order.setId(123_456L);
+        order.setOrderNumber("ORD-01JB8ZQ3K7M2N");
+        order.setCustomerName("John Doe");
+        order.setCustomerEmail("john.doe@example.com");
+        order.setProductName("Laptop");
+        order.setQuantity(2);
+        order.setUnitPrice(new BigDecimal("999.99"));
+        order.setTotalAmount(new BigDecimal("1999.98"));
+        order.setStatus(OrderStatus.CONFIRMED);
+        order.setCreatedAt(LocalDateTime.of(2026, 10, 17, 9, 30));
+        order.setUpdatedAt(LocalDateTime.of(2026, 10, 17, 9, 31));
+    }
+
+    @Benchmark
+    public OrderResponse toResponse() {
+        return orderMapper.toResponse(order);
+    }
+
+    @Benchmark
+    public OrderEvent toEvent() {
+        return orderMapper.toEvent(order, OrderEventType.ORDER_CONFIRMED);
+    }
+
+    @Benchmark
+    public byte[] toEncodedEvent() {
+        return codec.encode(orderMapper.toEvent(order, OrderEventType.ORDER_CONFIRMED));
+    }
+}
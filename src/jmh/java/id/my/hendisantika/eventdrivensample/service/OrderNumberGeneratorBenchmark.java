@@ -0,0 +1,54 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the snowflake order number generator with the original UUID-based one, both
+ * single-threaded and with eight threads sharing one generator.
+ * <p>
+ * Run with {@code ./gradlew jmh -PjmhIncludes=OrderNumberGeneratorBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class OrderNumberGeneratorBenchmark {
+
+    private final SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1);
+    private final SnowflakeOrderNumberGenerator snowflake = new SnowflakeOrderNumberGenerator(idGenerator);
+    private final UuidOrderNumberGenerator uuid = new UuidOrderNumberGenerator();
+
+    @Benchmark
+    public String uuid() {
+        return uuid.nextOrderNumber();
+    }
+
+    @Benchmark
+    public String snowflake() {
+        return snowflake.nextOrderNumber();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String uuidContended() {
+        return uuid.nextOrderNumber();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public String snowflakeContended() {
+        return snowflake.nextOrderNumber();
+    }
+
+    @Benchmark
+    public long snowflakeIdOnly() {
+        return idGenerator.nextId();
+    }
+}
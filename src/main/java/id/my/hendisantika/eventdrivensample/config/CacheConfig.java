@@ -0,0 +1,26 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 15.02
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Enables the Caffeine-backed cache manager configured through {@code spring.cache.*}.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String ORDERS_BY_NUMBER = "ordersByNumber";
+}
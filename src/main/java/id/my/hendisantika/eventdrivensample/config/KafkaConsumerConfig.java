@@ -0,0 +1,92 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultAfterRollbackProcessor;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.util.backoff.ExponentialBackOff;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 10.06
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Configuration
+public class KafkaConsumerConfig {
+
+    /**
+     * Listener container factory for the record listener on {@code order-events}. It starts from
+     * the same Boot configuration as the default factory and adds {@link #forwardFailureBackOff}.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> orderEventsKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            OrderConsumerProperties consumerProperties) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        retryForwardFailures(factory, consumerProperties.getRetry());
+        return factory;
+    }
+
+    /**
+     * Listener container factory for batch listeners. It starts from the same Boot
+     * configuration as the default factory; the listener acknowledges each poll once, or
+     * commits and seeks each partition to its first unfinished record so only that tail is redelivered.
+     */
+    @Bean
+    public ConcurrentKafkaListenerContainerFactory<Object, Object> batchKafkaListenerContainerFactory(
+            ConcurrentKafkaListenerContainerFactoryConfigurer configurer,
+            ConsumerFactory<Object, Object> kafkaConsumerFactory,
+            OrderConsumerProperties consumerProperties) {
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new ConcurrentKafkaListenerContainerFactory<>();
+        configurer.configure(factory, kafkaConsumerFactory);
+        factory.setBatchListener(true);
+        retryForwardFailures(factory, consumerProperties.getRetry());
+
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        containerProperties.setAckMode(ContainerProperties.AckMode.MANUAL);
+        containerProperties.setPollTimeout(consumerProperties.getPollTimeout().toMillis());
+        containerProperties.getKafkaConsumerProperties().setProperty(
+                ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(consumerProperties.getMaxBatchSize()));
+        return factory;
+    }
+
+    /**
+     * Failures that reach the container on {@code order-events} are records that could not be
+     * forwarded off the topic. Spring Kafka's default handling retries them ten times and then
+     * skips them, which would lose the record, so the container seeks back and retries with
+     * {@link #forwardFailureBackOff} instead, both without and within a Kafka transaction.
+     */
+    private static void retryForwardFailures(ConcurrentKafkaListenerContainerFactory<Object, Object> factory,
+                                             OrderConsumerProperties.Retry retry) {
+        factory.setCommonErrorHandler(forwardFailureErrorHandler(retry));
+        factory.setAfterRollbackProcessor(new DefaultAfterRollbackProcessor<>(forwardFailureBackOff(retry)));
+    }
+
+    static DefaultErrorHandler forwardFailureErrorHandler(OrderConsumerProperties.Retry retry) {
+        return new DefaultErrorHandler(forwardFailureBackOff(retry));
+    }
+
+    /**
+     * Doubling delay between {@code forward-retry-delay} and {@code forward-retry-max-delay} with no
+     * limit on attempts or elapsed time, so the back-off never runs out and the record is never skipped.
+     */
+    static ExponentialBackOff forwardFailureBackOff(OrderConsumerProperties.Retry retry) {
+        ExponentialBackOff backOff = new ExponentialBackOff(retry.getForwardRetryDelay().toMillis(), 2.0);
+        backOff.setMaxInterval(retry.getForwardRetryMaxDelay().toMillis());
+        return backOff;
+    }
+}
@@ -0,0 +1,36 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.orm.jpa.JpaTransactionManager;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 23.21
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Active with a transactional Kafka producer (the {@code exactly-once} profile). Boot then adds a
+ * Kafka transaction manager for the listener containers and stops creating the JPA one, so it is
+ * declared here as the primary manager that {@code @Transactional} methods keep using.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.kafka.producer.transaction-id-prefix")
+public class KafkaTransactionConfig {
+
+    @Bean
+    @Primary
+    public JpaTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+        return new JpaTransactionManager(entityManagerFactory);
+    }
+}
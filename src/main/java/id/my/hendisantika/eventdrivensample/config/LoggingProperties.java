@@ -0,0 +1,26 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 19.40
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "order.logging")
+public class LoggingProperties {
+
+    /**
+     * Maximum per-event log lines written per second for each kind of event. Zero or less logs every event.
+     */
+    private int sampledEventsPerSecond = 0;
+}
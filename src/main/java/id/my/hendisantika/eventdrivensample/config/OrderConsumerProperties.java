@@ -0,0 +1,127 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 10.02
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "order.consumer")
+public class OrderConsumerProperties {
+
+    /**
+     * Whether order events are consumed one poll at a time instead of one record at a time.
+     */
+    private boolean batchEnabled = false;
+
+    /**
+     * Maximum number of records handed to the batch listener per poll.
+     */
+    private int maxBatchSize = 500;
+
+    /**
+     * How long a poll waits for records before returning an empty batch.
+     */
+    private Duration pollTimeout = Duration.ofSeconds(1);
+
+    private final Processing processing = new Processing();
+
+    private final Retry retry = new Retry();
+
+    private final Dedup dedup = new Dedup();
+
+    @Data
+    public static class Processing {
+
+        /**
+         * Maximum number of order keys processed concurrently within a batch.
+         */
+        private int maxConcurrency = 256;
+
+        /**
+         * How long the listener waits for a batch before interrupting the unfinished handlers and
+         * redelivering their records. Must stay well below max.poll.interval.ms, since the listener
+         * also waits for interrupted handlers to exit.
+         */
+        private Duration batchTimeout = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Retry {
+
+        /**
+         * Processing attempts on the retry topics before a record is dead-lettered, counting the
+         * attempt on {@code order-events-retry} itself.
+         */
+        private int attempts = 4;
+
+        /**
+         * Delay before the first retry, in milliseconds.
+         */
+        private long delayMs = 1000;
+
+        /**
+         * Factor applied to the delay for each following retry.
+         */
+        private double multiplier = 5;
+
+        /**
+         * Upper bound for the retry delay, in milliseconds.
+         */
+        private long maxDelayMs = 60000;
+
+        /**
+         * How long the listener waits for the broker to accept a forwarded record.
+         */
+        private Duration forwardTimeout = Duration.ofSeconds(10);
+
+        /**
+         * Delay before a record whose forward failed is redelivered. It doubles on every further
+         * failure up to {@code forward-retry-max-delay}, and the record is never skipped.
+         */
+        private Duration forwardRetryDelay = Duration.ofSeconds(1);
+
+        /**
+         * Upper bound for the delay between redeliveries of a record whose forward failed. Must stay
+         * below max.poll.interval.ms, since the consumer waits out the delay.
+         */
+        private Duration forwardRetryMaxDelay = Duration.ofSeconds(30);
+    }
+
+    @Data
+    public static class Dedup {
+
+        /**
+         * Whether redelivered and re-sent order events are skipped by the consumer.
+         */
+        private boolean enabled = true;
+
+        /**
+         * Number of most recent event ids remembered per partition.
+         */
+        private int windowSize = 16384;
+
+        /**
+         * File holding the highest processed offset per partition across restarts.
+         */
+        private Path watermarkPath = Path.of("data/order-consumer.watermarks");
+
+        /**
+         * Pause between writes of the watermark file, in milliseconds.
+         */
+        private long watermarkFlushMs = 5000;
+    }
+}
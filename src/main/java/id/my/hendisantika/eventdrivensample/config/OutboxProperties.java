@@ -0,0 +1,38 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 08.20
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "order.outbox")
+public class OutboxProperties {
+
+    /**
+     * Maximum number of outbox rows relayed to Kafka per batch.
+     */
+    private int batchSize = 500;
+
+    /**
+     * Pause between relay runs once the outbox has been drained.
+     */
+    private long lingerMs = 100;
+
+    /**
+     * How long the relay waits for the broker to acknowledge a batch.
+     */
+    private Duration sendTimeout = Duration.ofSeconds(30);
+}
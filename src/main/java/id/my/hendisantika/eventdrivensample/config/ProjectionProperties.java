@@ -0,0 +1,44 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 20.05
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "order.projection")
+public class ProjectionProperties {
+
+    /**
+     * Whether this node builds the order projection from the order-events topic.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Whether GET /api/orders/{orderNumber} is answered from the projection once it has caught up.
+     */
+    private boolean serveReads = false;
+
+    /**
+     * Where the projection snapshot is written and restored from on startup.
+     */
+    private Path snapshotPath = Path.of("data", "order-projection.snapshot");
+
+    /**
+     * Minimum time between snapshots while events are being applied.
+     */
+    private Duration snapshotInterval = Duration.ofMinutes(5);
+}
@@ -0,0 +1,33 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 09.05
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@ConfigurationProperties(prefix = "order.publisher")
+public class PublisherProperties {
+
+    /**
+     * Maximum number of sends awaiting a broker acknowledgement at any time.
+     */
+    private int maxInFlight = 1000;
+
+    /**
+     * How long a caller waits for in-flight capacity before the send is rejected.
+     */
+    private Duration acquireTimeout = Duration.ofSeconds(5);
+}
@@ -0,0 +1,50 @@
+package id.my.hendisantika.eventdrivensample.controller;
+
+import id.my.hendisantika.eventdrivensample.event.DeadLetterReplayService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 22.31
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Operations on order events parked on the dead-letter topic.
+ */
+@RestController
+@RequestMapping("/api/orders/dead-letters")
+@RequiredArgsConstructor
+@Slf4j
+public class DeadLetterController {
+
+    private static final int MAX_REPLAY_LIMIT = 10_000;
+
+    private final DeadLetterReplayService deadLetterReplayService;
+
+    @PostMapping("/replay")
+    public ResponseEntity<Integer> replay(@RequestParam(defaultValue = "100") int limit) {
+        if (limit <= 0 || limit > MAX_REPLAY_LIMIT) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        }
+        try {
+            return ResponseEntity.ok(deadLetterReplayService.replay(limit));
+        } catch (Exception e) {
+            log.error("Error replaying dead-lettered order events", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
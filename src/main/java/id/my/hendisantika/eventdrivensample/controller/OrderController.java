@@ -1,11 +1,19 @@
 package id.my.hendisantika.eventdrivensample.controller;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.my.hendisantika.eventdrivensample.dto.BatchOrderResult;
+import id.my.hendisantika.eventdrivensample.dto.OrderPage;
 import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
 import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.projection.OrderProjection;
+import id.my.hendisantika.eventdrivensample.service.OrderBatchService;
 import id.my.hendisantika.eventdrivensample.service.OrderService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -13,8 +21,14 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 /**
@@ -35,7 +49,13 @@ import java.util.List;
 @Slf4j
 public class OrderController {
 
+    static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final OrderService orderService;
+    private final OrderBatchService orderBatchService;
+    private final OrderProjection orderProjection;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     public ResponseEntity<OrderResponse> createOrder(@RequestBody OrderRequest orderRequest) {
@@ -48,21 +68,71 @@ public class OrderController {
         }
     }
 
+    /**
+     * Creates many orders in one call. The JSON array is parsed as a stream; each item is validated
+     * and created independently and the response lists a result per item, in request order.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public ResponseEntity<List<BatchOrderResult>> createOrders(InputStream body) {
+        try (JsonParser json = objectMapper.createParser(body)) {
+            return ResponseEntity.ok(orderBatchService.createOrders(json));
+        } catch (IllegalArgumentException | JsonProcessingException e) {
+            log.error("Invalid order batch", e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+        } catch (Exception e) {
+            log.error("Error creating order batch", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * NDJSON variant of {@link #createOrders(InputStream)}: one order per line, read as a stream.
+     */
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<List<BatchOrderResult>> createOrdersFromStream(InputStream body) {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            return ResponseEntity.ok(orderBatchService.createOrders(reader));
+        } catch (Exception e) {
+            log.error("Error creating order batch from stream", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    /**
+     * Returns one page of orders. When more orders follow, the cursor for the next page is
+     * returned in the {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping
-    public ResponseEntity<List<OrderResponse>> getAllOrders() {
+    public ResponseEntity<List<OrderResponse>> getAllOrders(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
         try {
-            List<OrderResponse> orders = orderService.getAllOrders();
-            return ResponseEntity.ok(orders);
+            OrderPage page = orderService.getOrdersPage(cursor, Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getOrders());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid orders cursor: {}", cursor, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             log.error("Error fetching all orders", e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
         }
     }
 
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportOrders() {
+        StreamingResponseBody body = orderService::exportOrders;
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
     @GetMapping("/{orderNumber}")
     public ResponseEntity<OrderResponse> getOrderByNumber(@PathVariable String orderNumber) {
         try {
-            OrderResponse orderResponse = orderService.getOrderByNumber(orderNumber);
+            OrderResponse orderResponse = orderProjection.find(orderNumber)
+                    .orElseGet(() -> orderService.getOrderByNumber(orderNumber));
             return ResponseEntity.ok(orderResponse);
         } catch (RuntimeException e) {
             log.error("Order not found: {}", orderNumber, e);
@@ -73,11 +143,26 @@ public class OrderController {
         }
     }
 
+    /**
+     * Returns one page of the customer's orders, newest first, with the next page's cursor in the
+     * {@value #NEXT_CURSOR_HEADER} header.
+     */
     @GetMapping("/customer/{customerEmail}")
-    public ResponseEntity<List<OrderResponse>> getOrdersByCustomerEmail(@PathVariable String customerEmail) {
+    public ResponseEntity<List<OrderResponse>> getOrdersByCustomerEmail(
+            @PathVariable String customerEmail,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int limit) {
         try {
-            List<OrderResponse> orders = orderService.getOrdersByCustomerEmail(customerEmail);
-            return ResponseEntity.ok(orders);
+            OrderPage page = orderService.getOrdersByCustomerEmail(customerEmail, cursor,
+                    Math.max(1, Math.min(limit, MAX_PAGE_SIZE)));
+            ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+            if (page.getNextCursor() != null) {
+                response.header(NEXT_CURSOR_HEADER, page.getNextCursor());
+            }
+            return response.body(page.getOrders());
+        } catch (IllegalArgumentException e) {
+            log.error("Invalid orders cursor: {}", cursor, e);
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
         } catch (Exception e) {
             log.error("Error fetching orders for customer: {}", customerEmail, e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
@@ -0,0 +1,80 @@
+package id.my.hendisantika.eventdrivensample.controller;
+
+import id.my.hendisantika.eventdrivensample.config.ProjectionProperties;
+import id.my.hendisantika.eventdrivensample.dto.OrderStatsResponse;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import id.my.hendisantika.eventdrivensample.projection.OrderProjection;
+import id.my.hendisantika.eventdrivensample.projection.OrderStatsAggregator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 21.16
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Order statistics served from {@link OrderStatsAggregator}. Requires {@code order.projection.enabled};
+ * otherwise every endpoint answers 503.
+ */
+@RestController
+@RequestMapping("/api/orders/stats")
+@RequiredArgsConstructor
+public class OrderStatsController {
+
+    private final OrderStatsAggregator orderStatsAggregator;
+    private final OrderProjection orderProjection;
+    private final ProjectionProperties projectionProperties;
+
+    @GetMapping
+    public ResponseEntity<OrderStatsResponse> getStats() {
+        if (!projectionProperties.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(orderStatsAggregator.getStats(orderProjection.isCaughtUp()));
+    }
+
+    @GetMapping("/status/{status}")
+    public ResponseEntity<Long> getCountByStatus(@PathVariable OrderStatus status) {
+        if (!projectionProperties.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(orderStatsAggregator.getCount(status));
+    }
+
+    @GetMapping("/revenue/products")
+    public ResponseEntity<Map<String, BigDecimal>> getRevenueByProduct() {
+        if (!projectionProperties.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(orderStatsAggregator.getRevenueByProduct());
+    }
+
+    @GetMapping("/revenue/daily")
+    public ResponseEntity<Map<LocalDate, BigDecimal>> getRevenueByDay(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        if (!projectionProperties.isEnabled()) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+        return ResponseEntity.ok(orderStatsAggregator.getRevenueByDay(from, to));
+    }
+}
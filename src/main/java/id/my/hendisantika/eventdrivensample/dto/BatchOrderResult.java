@@ -0,0 +1,30 @@
+package id.my.hendisantika.eventdrivensample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 16.20
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResult {
+    /**
+     * Zero-based position of the item in the submitted batch.
+     */
+    private int index;
+    private boolean success;
+    private OrderResponse order;
+    private String error;
+}
@@ -0,0 +1,30 @@
+package id.my.hendisantika.eventdrivensample.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 14.10
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderPage {
+    private List<OrderResponse> orders;
+    /**
+     * Opaque cursor for the next page, or {@code null} when this is the last page.
+     */
+    private String nextCursor;
+}
@@ -0,0 +1,31 @@
+package id.my.hendisantika.eventdrivensample.dto;
+
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 21.10
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrderStatsResponse {
+    private Map<OrderStatus, Long> countsByStatus;
+    private long totalOrders;
+    private BigDecimal revenue;
+    private boolean upToDate;
+}
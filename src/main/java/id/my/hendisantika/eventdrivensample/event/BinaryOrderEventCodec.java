@@ -0,0 +1,306 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 11.20
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Compact, schema-tagged binary encoding of {@link OrderEvent}.
+ * <p>
+ * Every payload starts with a {@code 0x00} magic byte and a varint schema id, followed by a
+ * null bitmap and the non-null fields in schema order. Integers are zig-zag varints, amounts are
+ * a scale plus the unscaled two's-complement bytes, and timestamps are UTC epoch seconds plus
+ * nanos. Payloads starting with {@code '{'} are decoded as JSON so records written before the
+ * switch can still be read.
+ * <p>
+ * Schema 2 adds the event id (null bit 11, written first). Events are always written with schema 2;
+ * schema 1 payloads are still decoded, without an event id.
+ * <p>
+ * The status is written as its {@link OrderStatus#getWireCode() wire code}, which is pinned per
+ * constant and matches the ordinals used by earlier versions; unknown codes are rejected.
+ */
+@Component
+@ConditionalOnProperty(name = "order.events.codec", havingValue = "binary", matchIfMissing = true)
+@RequiredArgsConstructor
+public class BinaryOrderEventCodec implements OrderEventCodec {
+
+    static final byte MAGIC = 0x00;
+    static final int SCHEMA_V1 = 1;
+    static final int SCHEMA_V2 = 2;
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte[] encode(OrderEvent orderEvent) {
+        Writer writer = new Writer(128);
+        writer.writeByte(MAGIC);
+        writer.writeVarInt(SCHEMA_V2);
+
+        int nulls = 0;
+        nulls |= orderEvent.getEventType() == null ? 1 : 0;
+        nulls |= orderEvent.getOrderId() == null ? 1 << 1 : 0;
+        nulls |= orderEvent.getOrderNumber() == null ? 1 << 2 : 0;
+        nulls |= orderEvent.getCustomerName() == null ? 1 << 3 : 0;
+        nulls |= orderEvent.getCustomerEmail() == null ? 1 << 4 : 0;
+        nulls |= orderEvent.getProductName() == null ? 1 << 5 : 0;
+        nulls |= orderEvent.getQuantity() == null ? 1 << 6 : 0;
+        nulls |= orderEvent.getUnitPrice() == null ? 1 << 7 : 0;
+        nulls |= orderEvent.getTotalAmount() == null ? 1 << 8 : 0;
+        nulls |= orderEvent.getStatus() == null ? 1 << 9 : 0;
+        nulls |= orderEvent.getTimestamp() == null ? 1 << 10 : 0;
+        nulls |= orderEvent.getEventId() == null ? 1 << 11 : 0;
+        writer.writeVarInt(nulls);
+
+        if (orderEvent.getEventId() != null) {
+            writer.writeVarLong(orderEvent.getEventId());
+        }
+        if (orderEvent.getEventType() != null) {
+            writer.writeString(orderEvent.getEventType().name());
+        }
+        if (orderEvent.getOrderId() != null) {
+            writer.writeVarLong(orderEvent.getOrderId());
+        }
+        if (orderEvent.getOrderNumber() != null) {
+            writer.writeString(orderEvent.getOrderNumber());
+        }
+        if (orderEvent.getCustomerName() != null) {
+            writer.writeString(orderEvent.getCustomerName());
+        }
+        if (orderEvent.getCustomerEmail() != null) {
+            writer.writeString(orderEvent.getCustomerEmail());
+        }
+        if (orderEvent.getProductName() != null) {
+            writer.writeString(orderEvent.getProductName());
+        }
+        if (orderEvent.getQuantity() != null) {
+            writer.writeVarLong(orderEvent.getQuantity());
+        }
+        if (orderEvent.getUnitPrice() != null) {
+            writer.writeDecimal(orderEvent.getUnitPrice());
+        }
+        if (orderEvent.getTotalAmount() != null) {
+            writer.writeDecimal(orderEvent.getTotalAmount());
+        }
+        if (orderEvent.getStatus() != null) {
+            writer.writeVarInt(orderEvent.getStatus().getWireCode());
+        }
+        if (orderEvent.getTimestamp() != null) {
+            writer.writeTimestamp(orderEvent.getTimestamp());
+        }
+        return writer.toByteArray();
+    }
+
+    @Override
+    public OrderEvent decode(byte[] payload) {
+        if (payload.length > 0 && payload[0] == '{') {
+            return decodeJson(payload);
+        }
+
+        Reader reader = new Reader(payload);
+        if (reader.readByte() != MAGIC) {
+            throw new IllegalArgumentException("Unknown order event encoding");
+        }
+        int schemaId = reader.readVarInt();
+        if (schemaId != SCHEMA_V1 && schemaId != SCHEMA_V2) {
+            throw new IllegalArgumentException("Unsupported order event schema id: " + schemaId);
+        }
+
+        int nulls = reader.readVarInt();
+        OrderEvent orderEvent = new OrderEvent();
+        if (schemaId >= SCHEMA_V2 && (nulls & 1 << 11) == 0) {
+            orderEvent.setEventId(reader.readVarLong());
+        }
+        if ((nulls & 1) == 0) {
+            orderEvent.setEventType(OrderEventType.valueOf(reader.readString()));
+        }
+        if ((nulls & 1 << 1) == 0) {
+            orderEvent.setOrderId(reader.readVarLong());
+        }
+        if ((nulls & 1 << 2) == 0) {
+            orderEvent.setOrderNumber(reader.readString());
+        }
+        if ((nulls & 1 << 3) == 0) {
+            orderEvent.setCustomerName(reader.readString());
+        }
+        if ((nulls & 1 << 4) == 0) {
+            orderEvent.setCustomerEmail(reader.readString());
+        }
+        if ((nulls & 1 << 5) == 0) {
+            orderEvent.setProductName(reader.readString());
+        }
+        if ((nulls & 1 << 6) == 0) {
+            orderEvent.setQuantity((int) reader.readVarLong());
+        }
+        if ((nulls & 1 << 7) == 0) {
+            orderEvent.setUnitPrice(reader.readDecimal());
+        }
+        if ((nulls & 1 << 8) == 0) {
+            orderEvent.setTotalAmount(reader.readDecimal());
+        }
+        if ((nulls & 1 << 9) == 0) {
+            orderEvent.setStatus(OrderStatus.fromWireCode(reader.readVarInt()));
+        }
+        if ((nulls & 1 << 10) == 0) {
+            orderEvent.setTimestamp(reader.readTimestamp());
+        }
+        return orderEvent;
+    }
+
+    private OrderEvent decodeJson(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, OrderEvent.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializing order event", e);
+        }
+    }
+
+    private static final class Writer {
+
+        private byte[] buffer;
+        private int position;
+
+        Writer(int initialCapacity) {
+            buffer = new byte[initialCapacity];
+        }
+
+        void writeByte(int value) {
+            ensureCapacity(1);
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarInt(int value) {
+            ensureCapacity(5);
+            while ((value & ~0x7F) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+        }
+
+        void writeVarLong(long value) {
+            ensureCapacity(10);
+            long zigZag = (value << 1) ^ (value >> 63);
+            while ((zigZag & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((zigZag & 0x7F) | 0x80);
+                zigZag >>>= 7;
+            }
+            buffer[position++] = (byte) zigZag;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensureCapacity(bytes.length);
+            System.arraycopy(bytes, 0, buffer, position, bytes.length);
+            position += bytes.length;
+        }
+
+        void writeString(String value) {
+            writeBytes(value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        void writeDecimal(BigDecimal value) {
+            writeVarLong(value.scale());
+            writeBytes(value.unscaledValue().toByteArray());
+        }
+
+        void writeTimestamp(LocalDateTime value) {
+            writeVarLong(value.toEpochSecond(ZoneOffset.UTC));
+            writeVarInt(value.getNano());
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+
+        private void ensureCapacity(int extra) {
+            if (position + extra > buffer.length) {
+                buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+            }
+        }
+    }
+
+    private static final class Reader {
+
+        private final byte[] buffer;
+        private int position;
+
+        Reader(byte[] buffer) {
+            this.buffer = buffer;
+        }
+
+        byte readByte() {
+            return buffer[position++];
+        }
+
+        int readVarInt() {
+            int result = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                byte b = buffer[position++];
+                result |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return result;
+                }
+            }
+            throw new IllegalArgumentException("Malformed varint in order event");
+        }
+
+        long readVarLong() {
+            long zigZag = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                byte b = buffer[position++];
+                zigZag |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (zigZag >>> 1) ^ -(zigZag & 1);
+                }
+            }
+            throw new IllegalArgumentException("Malformed varlong in order event");
+        }
+
+        byte[] readBytes() {
+            int length = readVarInt();
+            byte[] bytes = Arrays.copyOfRange(buffer, position, position + length);
+            position += length;
+            return bytes;
+        }
+
+        String readString() {
+            int length = readVarInt();
+            String value = new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            return value;
+        }
+
+        BigDecimal readDecimal() {
+            int scale = (int) readVarLong();
+            return new BigDecimal(new BigInteger(readBytes()), scale);
+        }
+
+        LocalDateTime readTimestamp() {
+            long epochSecond = readVarLong();
+            int nanos = readVarInt();
+            return LocalDateTime.ofEpochSecond(epochSecond, nanos, ZoneOffset.UTC);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.ConsumerRecords;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.PartitionInfo;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.retrytopic.RetryTopicHeaders;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 22.15
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Moves parked records from {@link OrderEventRetryListener#DEAD_LETTER_TOPIC} back to
+ * {@link OrderEventRetryListener#RETRY_TOPIC}, typically after the cause of the failures has been
+ * fixed. Replayed records start a fresh round of retries. They are not written to
+ * {@code order-events}, so the projection and the cache never see an event twice.
+ * <p>
+ * Progress is tracked by the {@value #REPLAY_GROUP_ID} consumer group: an offset is only committed
+ * once the replayed copy has been acknowledged (or in the same transaction as the copy, with a
+ * transactional producer), so an interrupted replay resumes where it stopped.
+ */
+@Component
+@Slf4j
+public class DeadLetterReplayService {
+
+    static final String REPLAY_GROUP_ID = "order-events-dlt-replay";
+
+    private static final Duration POLL_TIMEOUT = Duration.ofSeconds(1);
+    private static final int MAX_EMPTY_POLLS = 3;
+
+    private final ConsumerFactory<String, byte[]> consumerFactory;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OrderConsumerProperties consumerProperties;
+
+    public DeadLetterReplayService(ConsumerFactory<String, byte[]> consumerFactory,
+                                   KafkaTemplate<String, byte[]> kafkaTemplate,
+                                   OrderConsumerProperties consumerProperties) {
+        this.consumerFactory = consumerFactory;
+        this.kafkaTemplate = kafkaTemplate;
+        this.consumerProperties = consumerProperties;
+    }
+
+    /**
+     * Replays up to {@code limit} dead-lettered records, oldest first per partition. Records that
+     * arrive on the dead-letter topic while the replay runs are left for the next call.
+     *
+     * @return the number of records replayed
+     */
+    public synchronized int replay(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Replay limit must be positive: " + limit);
+        }
+
+        Properties overrides = new Properties();
+        overrides.setProperty(ConsumerConfig.ENABLE_AUTO_COMMIT_CONFIG, "false");
+        overrides.setProperty(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        overrides.setProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG, String.valueOf(Math.min(limit, 500)));
+
+        try (Consumer<String, byte[]> consumer = consumerFactory.createConsumer(REPLAY_GROUP_ID, null, null, overrides)) {
+            List<TopicPartition> partitions = new ArrayList<>();
+            for (PartitionInfo partitionInfo : consumer.partitionsFor(OrderEventRetryListener.DEAD_LETTER_TOPIC)) {
+                partitions.add(new TopicPartition(partitionInfo.topic(), partitionInfo.partition()));
+            }
+            consumer.assign(partitions);
+            Map<TopicPartition, Long> endOffsets = consumer.endOffsets(partitions);
+
+            List<ConsumerRecord<String, byte[]>> toReplay = new ArrayList<>();
+            Map<TopicPartition, OffsetAndMetadata> replayedOffsets = new HashMap<>();
+            int emptyPolls = 0;
+            while (toReplay.size() < limit && !reachedEnd(consumer, partitions, endOffsets) && emptyPolls < MAX_EMPTY_POLLS) {
+                ConsumerRecords<String, byte[]> records = consumer.poll(POLL_TIMEOUT);
+                emptyPolls = records.isEmpty() ? emptyPolls + 1 : 0;
+
+                for (ConsumerRecord<String, byte[]> record : records) {
+                    TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+                    if (consumer.paused().contains(partition)) {
+                        continue;
+                    }
+                    if (toReplay.size() >= limit || record.offset() >= endOffsets.get(partition)) {
+                        // Leave this record and everything after it on the partition for the next replay
+                        consumer.pause(List.of(partition));
+                        continue;
+                    }
+                    toReplay.add(record);
+                    replayedOffsets.put(partition, new OffsetAndMetadata(record.offset() + 1));
+                }
+            }
+
+            if (kafkaTemplate.isTransactional()) {
+                // The copies and the replay group's offsets commit atomically
+                kafkaTemplate.executeInTransaction(operations -> {
+                    toReplay.forEach(record -> operations.send(toRetryRecord(record)));
+                    operations.sendOffsetsToTransaction(replayedOffsets, consumer.groupMetadata());
+                    return null;
+                });
+            } else {
+                List<CompletableFuture<?>> sends = new ArrayList<>(toReplay.size());
+                toReplay.forEach(record -> sends.add(kafkaTemplate.send(toRetryRecord(record))));
+                awaitSends(sends);
+                consumer.commitSync(replayedOffsets);
+            }
+            log.info("Replayed {} dead-lettered order events", toReplay.size());
+            return toReplay.size();
+        }
+    }
+
+    private static boolean reachedEnd(Consumer<String, byte[]> consumer, List<TopicPartition> partitions,
+                                      Map<TopicPartition, Long> endOffsets) {
+        for (TopicPartition partition : partitions) {
+            if (!consumer.paused().contains(partition) && consumer.position(partition) < endOffsets.get(partition)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ProducerRecord<String, byte[]> toRetryRecord(ConsumerRecord<String, byte[]> record) {
+        RecordHeaders headers = new RecordHeaders(record.headers().toArray());
+        headers.remove(RetryTopicHeaders.DEFAULT_HEADER_ATTEMPTS);
+        headers.remove(RetryTopicHeaders.DEFAULT_HEADER_BACKOFF_TIMESTAMP);
+        headers.remove(RetryTopicHeaders.DEFAULT_HEADER_ORIGINAL_TIMESTAMP);
+        return new ProducerRecord<>(OrderEventRetryListener.RETRY_TOPIC, null, record.key(), record.value(), headers);
+    }
+
+    private void awaitSends(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(consumerProperties.getRetry().getForwardTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while replaying dead-lettered order events", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Replayed order events were not acknowledged; nothing was committed", e);
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.apache.kafka.common.header.internals.RecordHeaders;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 21.52
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Moves records the main consumer could not process out of {@code order-events}, so the partition
+ * keeps moving. Records that failed in a handler go to {@link OrderEventRetryListener#RETRY_TOPIC};
+ * records that cannot be decoded go straight to {@link OrderEventRetryListener#DEAD_LETTER_TOPIC}.
+ * <p>
+ * The forwarded record keeps the original key, value and headers and gets the same
+ * {@code kafka_dlt-*} failure headers Spring Kafka's dead-letter publisher writes. The send is
+ * awaited, so the source offset is only committed once the broker has the copy.
+ */
+@Component
+@Slf4j
+public class FailedOrderEventForwarder {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final long forwardTimeoutMillis;
+    private final Counter retryCounter;
+    private final Counter deadLetterCounter;
+
+    public FailedOrderEventForwarder(KafkaTemplate<String, byte[]> kafkaTemplate,
+                                     OrderConsumerProperties consumerProperties,
+                                     MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.forwardTimeoutMillis = consumerProperties.getRetry().getForwardTimeout().toMillis();
+        this.retryCounter = Counter.builder("order.events.forwarded")
+                .description("Records moved off order-events after a processing failure")
+                .tag("destination", "retry")
+                .register(meterRegistry);
+        this.deadLetterCounter = Counter.builder("order.events.forwarded")
+                .description("Records moved off order-events after a processing failure")
+                .tag("destination", "dead-letter")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Sends a copy of the failed record to the retry or dead-letter topic and waits for the
+     * broker to accept it.
+     *
+     * @throws RuntimeException if the copy could not be written; the caller must not commit
+     *                          the source offset in that case
+     */
+    public void forward(ConsumerRecord<String, byte[]> record, Exception failure) {
+        boolean poison = failure instanceof PoisonOrderEventException;
+        String destination = destinationFor(failure);
+        ProducerRecord<String, byte[]> forwarded = new ProducerRecord<>(
+                destination, null, record.key(), record.value(), failureHeaders(record, failure));
+
+        try {
+            send(forwarded).get(forwardTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while forwarding order event for order: " + record.key(), e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new RuntimeException("Could not forward order event for order: " + record.key()
+                    + " to " + destination, e);
+        }
+
+        (poison ? deadLetterCounter : retryCounter).increment();
+        log.warn("Forwarded order event for order: {} at {}-{}@{} to {}: {}",
+                record.key(), record.topic(), record.partition(), record.offset(), destination, failure.toString());
+    }
+
+    /**
+     * Joins the listener's Kafka transaction when there is one, so the forwarded copy and the
+     * source offset commit together; otherwise a transactional template gets its own transaction.
+     */
+    private CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> forwarded) {
+        if (kafkaTemplate.isTransactional() && !kafkaTemplate.inTransaction()) {
+            return kafkaTemplate.executeInTransaction(operations -> operations.send(forwarded));
+        }
+        return kafkaTemplate.send(forwarded);
+    }
+
+    static String destinationFor(Exception failure) {
+        return failure instanceof PoisonOrderEventException
+                ? OrderEventRetryListener.DEAD_LETTER_TOPIC
+                : OrderEventRetryListener.RETRY_TOPIC;
+    }
+
+    static Headers failureHeaders(ConsumerRecord<String, byte[]> record, Exception failure) {
+        RecordHeaders headers = new RecordHeaders(record.headers().toArray());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TOPIC, record.topic().getBytes(StandardCharsets.UTF_8));
+        headers.add(KafkaHeaders.DLT_ORIGINAL_PARTITION, ByteBuffer.allocate(Integer.BYTES).putInt(record.partition()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_OFFSET, ByteBuffer.allocate(Long.BYTES).putLong(record.offset()).array());
+        headers.add(KafkaHeaders.DLT_ORIGINAL_TIMESTAMP, ByteBuffer.allocate(Long.BYTES).putLong(record.timestamp()).array());
+        headers.add(KafkaHeaders.DLT_EXCEPTION_FQCN, failure.getClass().getName().getBytes(StandardCharsets.UTF_8));
+        if (failure.getCause() != null) {
+            headers.add(KafkaHeaders.DLT_EXCEPTION_CAUSE_FQCN,
+                    failure.getCause().getClass().getName().getBytes(StandardCharsets.UTF_8));
+        }
+        if (failure.getMessage() != null) {
+            headers.add(KafkaHeaders.DLT_EXCEPTION_MESSAGE, failure.getMessage().getBytes(StandardCharsets.UTF_8));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,46 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 11.14
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Component
+@ConditionalOnProperty(name = "order.events.codec", havingValue = "json")
+@RequiredArgsConstructor
+public class JsonOrderEventCodec implements OrderEventCodec {
+
+    private final ObjectMapper objectMapper;
+
+    @Override
+    public byte[] encode(OrderEvent orderEvent) {
+        try {
+            return objectMapper.writeValueAsBytes(orderEvent);
+        } catch (IOException e) {
+            throw new RuntimeException("Error serializing order event for order: " + orderEvent.getOrderNumber(), e);
+        }
+    }
+
+    @Override
+    public OrderEvent decode(byte[] payload) {
+        try {
+            return objectMapper.readValue(payload, OrderEvent.class);
+        } catch (IOException e) {
+            throw new RuntimeException("Error deserializing order event", e);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.Consumer;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 13.05
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Processes a polled batch in parallel while keeping records with the same key in offset order.
+ * <p>
+ * Records are grouped by key and every key runs on its own virtual thread, so a slow order only
+ * delays later events for that order rather than the whole partition, and parallelism is bounded
+ * by {@code order.consumer.processing.max-concurrency} instead of the partition count. Records
+ * without a key carry no ordering guarantee and are each processed independently.
+ * <p>
+ * A batch that outlives {@code order.consumer.processing.batch-timeout} is stopped: unfinished
+ * chains are interrupted and stop at the next record boundary, and {@link #process} only returns
+ * once every worker has exited. Redelivered records can therefore never run alongside the worker
+ * that was still handling the same key.
+ */
+@Component
+@Slf4j
+public class KeyOrderedEventProcessor implements DisposableBean {
+
+    private static final int NOT_STARTED = 0;
+    private static final int RUNNING = 1;
+    private static final int EXITED = 2;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Semaphore concurrency;
+    private final long batchTimeoutMillis;
+
+    public KeyOrderedEventProcessor(OrderConsumerProperties consumerProperties) {
+        OrderConsumerProperties.Processing processing = consumerProperties.getProcessing();
+        this.concurrency = new Semaphore(processing.getMaxConcurrency());
+        this.batchTimeoutMillis = processing.getBatchTimeout().toMillis();
+    }
+
+    /**
+     * Runs {@code handler} for every record and waits for the batch to finish, or to be stopped
+     * after the batch timeout.
+     *
+     * @return for every partition whose records did not all complete, the offset of its first
+     * unfinished record, from which the partition must be redelivered; empty when the whole batch completed
+     */
+    public <K, V> Map<TopicPartition, Long> process(List<ConsumerRecord<K, V>> records,
+                                                     Consumer<ConsumerRecord<K, V>> handler) {
+        AtomicIntegerArray completed = new AtomicIntegerArray(records.size());
+        List<int[]> chains = groupByKey(records);
+        AtomicIntegerArray states = new AtomicIntegerArray(chains.size());
+        AtomicBoolean stopping = new AtomicBoolean();
+        CountDownLatch exited = new CountDownLatch(chains.size());
+        List<Future<?>> workers = new ArrayList<>(chains.size());
+
+        for (int c = 0; c < chains.size(); c++) {
+            int chainIndex = c;
+            int[] chain = chains.get(c);
+            workers.add(executor.submit(() -> {
+                if (!states.compareAndSet(chainIndex, NOT_STARTED, RUNNING)) {
+                    return;
+                }
+                try {
+                    runChain(records, chain, handler, completed, stopping);
+                } finally {
+                    states.set(chainIndex, EXITED);
+                    exited.countDown();
+                }
+            }));
+        }
+
+        boolean finished;
+        try {
+            finished = exited.await(batchTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            finished = false;
+        }
+        if (!finished) {
+            log.warn("Batch of {} records did not finish within {} ms, stopping {} unfinished chains",
+                    records.size(), batchTimeoutMillis, exited.getCount());
+            stop(workers, states, stopping, exited);
+        }
+
+        return firstUnfinishedOffsets(records, completed);
+    }
+
+    private <K, V> void runChain(List<ConsumerRecord<K, V>> records, int[] chain,
+                                 Consumer<ConsumerRecord<K, V>> handler,
+                                 AtomicIntegerArray completed, AtomicBoolean stopping) {
+        try {
+            concurrency.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            for (int index : chain) {
+                if (stopping.get() || Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+                handler.accept(records.get(index));
+                completed.set(index, 1);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Order event chain stopped at a failed record: {}", e.getMessage());
+        } finally {
+            concurrency.release();
+        }
+    }
+
+    /**
+     * Interrupts every chain still running, keeps chains that have not started from starting,
+     * and waits until all of them have exited. Handlers that ignore the interrupt are waited for,
+     * however long they take, since returning earlier would let their records run twice.
+     */
+    private static void stop(List<Future<?>> workers, AtomicIntegerArray states, AtomicBoolean stopping,
+                             CountDownLatch exited) {
+        stopping.set(true);
+        for (int c = 0; c < workers.size(); c++) {
+            if (states.compareAndSet(c, NOT_STARTED, EXITED)) {
+                exited.countDown();
+            } else {
+                workers.get(c).cancel(true);
+            }
+        }
+
+        boolean interrupted = false;
+        while (true) {
+            try {
+                if (exited.await(1, TimeUnit.SECONDS)) {
+                    break;
+                }
+                log.warn("Waiting for {} interrupted order event chains to exit", exited.getCount());
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Records of one partition arrive in offset order, so the first record of a partition that
+     * did not complete marks where that partition has to be redelivered from. Other partitions are
+     * unaffected by it.
+     */
+    static <K, V> Map<TopicPartition, Long> firstUnfinishedOffsets(List<ConsumerRecord<K, V>> records,
+                                                                  AtomicIntegerArray completed) {
+        Map<TopicPartition, Long> redeliverFrom = new HashMap<>();
+        for (int i = 0; i < records.size(); i++) {
+            if (completed.get(i) == 0) {
+                ConsumerRecord<K, V> record = records.get(i);
+                redeliverFrom.putIfAbsent(new TopicPartition(record.topic(), record.partition()), record.offset());
+            }
+        }
+        return redeliverFrom;
+    }
+
+    private static <K, V> List<int[]> groupByKey(List<ConsumerRecord<K, V>> records) {
+        Map<K, List<Integer>> byKey = new LinkedHashMap<>();
+        List<int[]> chains = new ArrayList<>();
+        for (int i = 0; i < records.size(); i++) {
+            K key = records.get(i).key();
+            if (key == null) {
+                chains.add(new int[]{i});
+            } else {
+                byKey.computeIfAbsent(key, k -> new ArrayList<>()).add(i);
+            }
+        }
+        for (List<Integer> indexes : byKey.values()) {
+            chains.add(indexes.stream().mapToInt(Integer::intValue).toArray());
+        }
+        return chains;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
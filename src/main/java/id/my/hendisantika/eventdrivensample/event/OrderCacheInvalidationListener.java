@@ -0,0 +1,47 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.CacheConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 15.06
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Keeps this node's order cache coherent with changes made on any node. Each instance joins its
+ * own consumer group so it sees every event, starting from the latest offset, and evicts the
+ * order named by the record key. The payload is never decoded.
+ */
+@Component
+@Slf4j
+public class OrderCacheInvalidationListener {
+
+    private final Cache ordersByNumber;
+
+    public OrderCacheInvalidationListener(CacheManager cacheManager) {
+        this.ordersByNumber = cacheManager.getCache(CacheConfig.ORDERS_BY_NUMBER);
+    }
+
+    @KafkaListener(id = "order-cache-invalidation", topics = "order-events",
+            groupId = "#{'order-cache-' + T(java.util.UUID).randomUUID()}",
+            properties = "auto.offset.reset=latest")
+    public void invalidate(ConsumerRecord<String, byte[]> record) {
+        if (record.key() != null && ordersByNumber != null) {
+            ordersByNumber.evict(record.key());
+            log.debug("Evicted cached order: {}", record.key());
+        }
+    }
+}
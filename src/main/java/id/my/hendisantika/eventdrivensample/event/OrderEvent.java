@@ -24,7 +24,12 @@ import java.time.LocalDateTime;
 @NoArgsConstructor
 @AllArgsConstructor
 public class OrderEvent {
-    private String eventType;
+    /**
+     * Unique id assigned when the event is created; redeliveries and re-sends of the event keep it.
+     * {@code null} for events written before ids were introduced.
+     */
+    private Long eventId;
+    private OrderEventType eventType;
     private Long orderId;
     private String orderNumber;
     private String customerName;
@@ -0,0 +1,24 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 11.10
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Wire format of {@link OrderEvent} payloads on the {@code order-events} topic.
+ * The implementation is selected with {@code order.events.codec}.
+ */
+public interface OrderEventCodec {
+
+    byte[] encode(OrderEvent orderEvent);
+
+    OrderEvent decode(byte[] payload);
+}
@@ -1,13 +1,27 @@
 package id.my.hendisantika.eventdrivensample.event;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import id.my.hendisantika.eventdrivensample.logging.LogSampler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
 import org.springframework.kafka.annotation.KafkaListener;
-import org.springframework.kafka.support.KafkaHeaders;
-import org.springframework.messaging.handler.annotation.Header;
-import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Created by IntelliJ IDEA.
@@ -22,50 +36,245 @@ import org.springframework.stereotype.Component;
  */
 
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OrderEventConsumer {
 
-    private final ObjectMapper objectMapper;
+    private final OrderEventCodec orderEventCodec;
+    private final KeyOrderedEventProcessor keyOrderedEventProcessor;
+    private final Timer lagTimer;
+    private final Timer processSuccessTimer;
+    private final Timer processFailureTimer;
+    private final LogSampler logSampler;
+    private final FailedOrderEventForwarder failedOrderEventForwarder;
+    private final OrderEventDeduplicator orderEventDeduplicator;
+    private final OrderEventHandler[] handlers = new OrderEventHandler[OrderEventType.values().length];
+
+    public OrderEventConsumer(OrderEventCodec orderEventCodec,
+                              KeyOrderedEventProcessor keyOrderedEventProcessor,
+                              MeterRegistry meterRegistry,
+                              LogSampler logSampler,
+                              FailedOrderEventForwarder failedOrderEventForwarder,
+                              OrderEventDeduplicator orderEventDeduplicator) {
+        this.orderEventCodec = orderEventCodec;
+        this.logSampler = logSampler;
+        this.failedOrderEventForwarder = failedOrderEventForwarder;
+        this.orderEventDeduplicator = orderEventDeduplicator;
+        this.keyOrderedEventProcessor = keyOrderedEventProcessor;
+        this.lagTimer = Timer.builder("order.events.consume.lag")
+                .description("Time from the event timestamp until the consumer picks it up")
+                .register(meterRegistry);
+        this.processSuccessTimer = Timer.builder("order.events.consume")
+                .description("Time to decode and process one order event")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.processFailureTimer = Timer.builder("order.events.consume")
+                .description("Time to decode and process one order event")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+
+        handlers[OrderEventType.ORDER_CREATED.ordinal()] = event ->
+                logProcessing("Processing order creation", event);
+        handlers[OrderEventType.ORDER_CONFIRMED.ordinal()] = event ->
+                logProcessing("Processing order confirmation", event);
+        handlers[OrderEventType.ORDER_SHIPPED.ordinal()] = event ->
+                logProcessing("Processing order shipment", event);
+        handlers[OrderEventType.ORDER_DELIVERED.ordinal()] = event ->
+                logProcessing("Processing order delivery", event);
+        handlers[OrderEventType.ORDER_CANCELLED.ordinal()] = event ->
+                logProcessing("Processing order cancellation", event);
+        for (OrderEventType eventType : OrderEventType.values()) {
+            if (handlers[eventType.ordinal()] == null) {
+                throw new IllegalStateException("No handler registered for order event type: " + eventType);
+            }
+        }
+    }
+
+    /**
+     * Handles one record. A record that fails is forwarded by {@link FailedOrderEventForwarder}
+     * and its offset committed, so the partition never waits on a retry. If the forward itself fails,
+     * the container redelivers the record with a growing delay and never commits past it. Records
+     * already processed are skipped by {@link OrderEventDeduplicator}.
+     */
+    @KafkaListener(id = "order-events-record", topics = "order-events", groupId = "order-processing-group",
+            containerFactory = "orderEventsKafkaListenerContainerFactory",
+            autoStartup = "#{!${order.consumer.batch-enabled:false}}")
+    public void handleOrderEvent(ConsumerRecord<String, byte[]> record) {
+        handleRecord(record);
+        afterCommit(() -> orderEventDeduplicator.advanceWatermark(record.partition(), record.offset()));
+    }
+
+    /**
+     * Batch variant of {@link #handleOrderEvent}, active when {@code order.consumer.batch-enabled=true}.
+     * Records are fanned out by {@link KeyOrderedEventProcessor}; a failed record is forwarded to the
+     * retry topics. Offsets are committed once per poll. A partition with a record left unfinished by
+     * the batch timeout is committed up to that record and sought back to it, so only that
+     * partition's tail is redelivered; finished records in the tail are skipped by their event id.
+     * Other partitions in the batch are committed in full.
+     * <p>
+     * If a record could not be forwarded, a {@link BatchListenerFailedException} for the first
+     * unfinished record is thrown instead. The container's error handler then commits the records
+     * before it, seeks back and redelivers the rest after its forward-failure back-off, rather than
+     * fetching the records again straight away.
+     */
+    @KafkaListener(id = "order-events-batch", topics = "order-events", groupId = "order-processing-group",
+            containerFactory = "batchKafkaListenerContainerFactory",
+            autoStartup = "${order.consumer.batch-enabled:false}")
+    public void handleOrderEventBatch(List<ConsumerRecord<String, byte[]>> records, Acknowledgment acknowledgment,
+                                      Consumer<?, ?> consumer) {
+        AtomicReference<RuntimeException> forwardFailure = new AtomicReference<>();
+        Map<TopicPartition, Long> redeliverFrom = keyOrderedEventProcessor.process(records, record -> {
+            try {
+                handleRecord(record);
+            } catch (RuntimeException e) {
+                forwardFailure.compareAndSet(null, e);
+                throw e;
+            }
+        });
+
+        Map<TopicPartition, OffsetAndMetadata> commits = new HashMap<>();
+        for (ConsumerRecord<String, byte[]> record : records) {
+            TopicPartition partition = new TopicPartition(record.topic(), record.partition());
+            Long firstUnfinished = redeliverFrom.get(partition);
+            if (firstUnfinished == null || record.offset() < firstUnfinished) {
+                orderEventDeduplicator.advanceWatermark(record.partition(), record.offset());
+                commits.put(partition, new OffsetAndMetadata(record.offset() + 1));
+            }
+        }
 
-    @KafkaListener(topics = "order-events", groupId = "order-processing-group")
-    public void handleOrderEvent(
-            @Payload String eventJson,
-            @Header(KafkaHeaders.RECEIVED_KEY) String orderNumber,
-            @Header(KafkaHeaders.RECEIVED_TOPIC) String topic) {
+        if (redeliverFrom.isEmpty()) {
+            acknowledgment.acknowledge();
+            log.debug("Processed batch of {} order events", records.size());
+            return;
+        }
+        if (forwardFailure.get() != null) {
+            throw new BatchListenerFailedException("Could not forward a failed order event",
+                    forwardFailure.get(), firstUnfinishedIndex(records, redeliverFrom));
+        }
+        redeliverFrom.forEach((partition, offset) -> commits.put(partition, new OffsetAndMetadata(offset)));
+        consumer.commitSync(commits);
+        redeliverFrom.forEach(consumer::seek);
+        log.warn("Processed a batch of {} order events partially, redelivering {} from {}",
+                records.size(), redeliverFrom.keySet(), redeliverFrom.values());
+    }
 
+    /**
+     * Position in {@code records} of the first record at or after its partition's first unfinished
+     * offset. Every record before it has finished, so the error handler may commit them.
+     */
+    static int firstUnfinishedIndex(List<? extends ConsumerRecord<?, ?>> records,
+                                    Map<TopicPartition, Long> redeliverFrom) {
+        for (int i = 0; i < records.size(); i++) {
+            ConsumerRecord<?, ?> record = records.get(i);
+            Long firstUnfinished = redeliverFrom.get(new TopicPartition(record.topic(), record.partition()));
+            if (firstUnfinished != null && record.offset() >= firstUnfinished) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("No unfinished record in batch: " + redeliverFrom);
+    }
+
+    private void handleRecord(ConsumerRecord<String, byte[]> record) {
+        long start = System.nanoTime();
+        Long eventId = null;
         try {
-            OrderEvent orderEvent = objectMapper.readValue(eventJson, OrderEvent.class);
-            log.info("Received order event: {} for order: {} from topic: {}",
-                    orderEvent.getEventType(), orderNumber, topic);
+            OrderEvent orderEvent = decode(record);
+            eventId = orderEvent.getEventId();
+            if (orderEventDeduplicator.isDuplicate(record.partition(), record.offset(), eventId)) {
+                log.debug("Skipping duplicate order event {} for order: {} at {}-{}@{}",
+                        eventId, record.key(), record.topic(), record.partition(), record.offset());
+                return;
+            }
+            log.debug("Received order event: {} for order: {} from topic: {}",
+                    orderEvent.getEventType(), record.key(), record.topic());
 
+            recordLag(orderEvent);
             processOrderEvent(orderEvent);
+            processSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
 
         } catch (Exception e) {
-            log.error("Error processing order event for order: {}", orderNumber, e);
+            processFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            failedOrderEventForwarder.forward(record, e);
+        }
+
+        Long processedEventId = eventId;
+        afterCommit(() -> orderEventDeduplicator.markProcessed(record.partition(), processedEventId));
+    }
+
+    /**
+     * Runs {@code action} once the listener's Kafka transaction has committed, or straight away
+     * when there is none. A record whose transaction rolls back is redelivered and must not be
+     * taken for a duplicate.
+     */
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * Processes a record taken from the retry topics. Failures are thrown back to the retry
+     * listener so it can move the record on to the next tier.
+     */
+    void reprocess(ConsumerRecord<String, byte[]> record) {
+        long start = System.nanoTime();
+        try {
+            processOrderEvent(decode(record));
+            processSuccessTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            processFailureTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private OrderEvent decode(ConsumerRecord<String, byte[]> record) {
+        try {
+            OrderEvent orderEvent = orderEventCodec.decode(record.value());
+            if (orderEvent.getEventType() == null) {
+                throw new IllegalArgumentException("Order event has no event type");
+            }
+            return orderEvent;
+        } catch (RuntimeException e) {
+            throw new PoisonOrderEventException("Cannot decode order event for order: " + record.key()
+                    + " at " + record.topic() + "-" + record.partition() + "@" + record.offset(), e);
+        }
+    }
+
+    /**
+     * Records how long the event took to get from {@link OrderEvent#getTimestamp()} to this consumer.
+     * Producers and consumers are assumed to share a time zone and a reasonably synchronised clock;
+     * negative values caused by clock skew are recorded as zero.
+     */
+    private void recordLag(OrderEvent orderEvent) {
+        if (orderEvent.getTimestamp() != null) {
+            Duration lag = Duration.between(orderEvent.getTimestamp(), LocalDateTime.now());
+            lagTimer.record(lag.isNegative() ? Duration.ZERO : lag);
         }
     }
 
     private void processOrderEvent(OrderEvent orderEvent) {
-        switch (orderEvent.getEventType()) {
-            case "ORDER_CREATED":
-                log.info("Processing order creation for order: {}", orderEvent.getOrderNumber());
-                break;
-            case "ORDER_CONFIRMED":
-                log.info("Processing order confirmation for order: {}", orderEvent.getOrderNumber());
-                break;
-            case "ORDER_SHIPPED":
-                log.info("Processing order shipment for order: {}", orderEvent.getOrderNumber());
-                break;
-            case "ORDER_DELIVERED":
-                log.info("Processing order delivery for order: {}", orderEvent.getOrderNumber());
-                break;
-            case "ORDER_CANCELLED":
-                log.info("Processing order cancellation for order: {}", orderEvent.getOrderNumber());
-                break;
-            default:
-                log.warn("Unknown event type: {} for order: {}",
-                        orderEvent.getEventType(), orderEvent.getOrderNumber());
+        handlers[orderEvent.getEventType().ordinal()].handle(orderEvent);
+    }
+
+    private void logProcessing(String message, OrderEvent orderEvent) {
+        long suppressed = logSampler.sample(orderEvent.getEventType().name());
+        if (suppressed != LogSampler.SUPPRESSED) {
+            log.atInfo()
+                    .addKeyValue("orderNumber", orderEvent.getOrderNumber())
+                    .addKeyValue("eventType", orderEvent.getEventType())
+                    .addKeyValue("suppressed", suppressed)
+                    .log("{} for order: {}", message, orderEvent.getOrderNumber());
         }
     }
-}
\ No newline at end of file
+
+    @FunctionalInterface
+    private interface OrderEventHandler {
+        void handle(OrderEvent orderEvent);
+    }
+}
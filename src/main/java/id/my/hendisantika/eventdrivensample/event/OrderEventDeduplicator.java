@@ -0,0 +1,319 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 22.58
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Tells the order event consumer whether it has already processed a record, without a database
+ * round trip. Two checks catch the two ways a duplicate arrives:
+ * <ul>
+ *     <li>a redelivered record (rebalance, or a crash before the offset commit) is at or below the
+ *     partition's watermark, the highest offset processed by this node. Watermarks are written to
+ *     {@code order.consumer.dedup.watermark-path} so they survive restarts;</li>
+ *     <li>an event the outbox relay sent twice has a new offset but the same event id, which is
+ *     still in the partition's window of the last {@code order.consumer.dedup.window-size} ids.</li>
+ * </ul>
+ * The window is an exact set, not a Bloom filter: a false positive would drop a real event.
+ * It costs 24 bytes per remembered id. Watermarks are node-local and only mean something for the
+ * topic they were taken on, so the file records the Kafka cluster id and the topic id and is
+ * discarded on startup when either differs, e.g. after the topic was recreated.
+ */
+@Component
+@Slf4j
+public class OrderEventDeduplicator implements InitializingBean, DisposableBean {
+
+    private static final int WATERMARK_MAGIC = 0x4F435731;
+    private static final int WATERMARK_VERSION = 2;
+    private static final long DESCRIBE_TIMEOUT_SECONDS = 10;
+
+    private final OrderConsumerProperties.Dedup dedupProperties;
+    private final Supplier<String> topicIdentity;
+    private final Map<Integer, LongWindow> windows = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> watermarks = new ConcurrentHashMap<>();
+    private final Counter duplicateCounter;
+    private volatile boolean dirty;
+    private volatile String watermarkIdentity;
+
+    @Autowired
+    public OrderEventDeduplicator(OrderConsumerProperties consumerProperties, MeterRegistry meterRegistry,
+                                  KafkaAdmin kafkaAdmin) {
+        this(consumerProperties, meterRegistry, () -> describeOrderTopic(kafkaAdmin));
+    }
+
+    /**
+     * @param topicIdentity the cluster id and topic id of {@code order-events}, or {@code null} while
+     *                      they cannot be read, e.g. because the topic does not exist yet
+     */
+    OrderEventDeduplicator(OrderConsumerProperties consumerProperties, MeterRegistry meterRegistry,
+                           Supplier<String> topicIdentity) {
+        this.dedupProperties = consumerProperties.getDedup();
+        this.topicIdentity = topicIdentity;
+        this.duplicateCounter = Counter.builder("order.events.duplicates")
+                .description("Redelivered or re-sent order events skipped by the consumer")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (dedupProperties.isEnabled()) {
+            restoreWatermarks();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        flushWatermarks();
+    }
+
+    /**
+     * Returns whether the record at {@code offset} carrying {@code eventId} has been processed
+     * already. Events without an id are only checked against the watermark.
+     */
+    public boolean isDuplicate(int partition, long offset, Long eventId) {
+        if (!dedupProperties.isEnabled()) {
+            return false;
+        }
+        Long watermark = watermarks.get(partition);
+        boolean duplicate = watermark != null && offset <= watermark
+                || eventId != null && window(partition).contains(eventId);
+        if (duplicate) {
+            duplicateCounter.increment();
+        }
+        return duplicate;
+    }
+
+    /**
+     * Remembers that the event has been processed. Records of the same order are never marked
+     * concurrently, so a check followed by a mark cannot let a duplicate through.
+     */
+    public void markProcessed(int partition, Long eventId) {
+        if (dedupProperties.isEnabled() && eventId != null) {
+            window(partition).add(eventId);
+        }
+    }
+
+    /**
+     * Records that every offset up to and including {@code offset} has been processed.
+     */
+    public void advanceWatermark(int partition, long offset) {
+        if (dedupProperties.isEnabled()) {
+            watermarks.merge(partition, offset, Math::max);
+            dirty = true;
+        }
+    }
+
+    private LongWindow window(int partition) {
+        return windows.computeIfAbsent(partition, p -> new LongWindow(dedupProperties.getWindowSize()));
+    }
+
+    @Scheduled(fixedDelayString = "${order.consumer.dedup.watermark-flush-ms:5000}")
+    public void flushWatermarks() {
+        if (!dirty) {
+            return;
+        }
+        String identity = watermarkIdentity;
+        if (identity == null) {
+            identity = topicIdentity.get();
+            if (identity == null) {
+                log.debug("Order topic identity unknown, consumer watermarks not written yet");
+                return;
+            }
+            watermarkIdentity = identity;
+        }
+        dirty = false;
+        Map<Integer, Long> snapshot = new HashMap<>(watermarks);
+        Path path = dedupProperties.getWatermarkPath();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeInt(WATERMARK_MAGIC);
+                out.writeInt(WATERMARK_VERSION);
+                out.writeUTF(identity);
+                out.writeInt(snapshot.size());
+                for (Map.Entry<Integer, Long> entry : snapshot.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            dirty = true;
+            log.error("Error writing consumer watermarks to {}", path, e);
+        }
+    }
+
+    /**
+     * Restores the watermarks written for the current cluster and topic. Watermarks from another
+     * cluster or an earlier incarnation of the topic, or from a run whose topic identity cannot be
+     * checked now, are dropped: their offsets would mark unseen records as processed.
+     */
+    void restoreWatermarks() {
+        watermarkIdentity = topicIdentity.get();
+        Path path = dedupProperties.getWatermarkPath();
+        if (!Files.exists(path)) {
+            return;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (in.readInt() != WATERMARK_MAGIC || in.readInt() != WATERMARK_VERSION) {
+                log.warn("Ignoring consumer watermark file {} with an unknown format", path);
+                return;
+            }
+            String storedIdentity = in.readUTF();
+            if (!storedIdentity.equals(watermarkIdentity)) {
+                log.warn("Ignoring consumer watermark file {} written for {}, order topic is now {}",
+                        path, storedIdentity, watermarkIdentity);
+                return;
+            }
+            Map<Integer, Long> restored = new HashMap<>();
+            int partitions = in.readInt();
+            for (int i = 0; i < partitions; i++) {
+                restored.put(in.readInt(), in.readLong());
+            }
+            watermarks.putAll(restored);
+            log.info("Restored consumer watermarks {} from {}", restored, path);
+        } catch (IOException e) {
+            log.error("Error reading consumer watermarks from {}, starting without them", path, e);
+        }
+    }
+
+    /**
+     * Returns {@code clusterId/topicId} of {@code order-events}, or {@code null} when the cluster
+     * cannot be reached or the topic does not exist.
+     */
+    private static String describeOrderTopic(KafkaAdmin kafkaAdmin) {
+        try (AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            String clusterId = admin.describeCluster().clusterId().get(DESCRIBE_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            TopicDescription topic = admin.describeTopics(List.of(OrderEventOutbox.ORDER_TOPIC)).allTopicNames()
+                    .get(DESCRIBE_TIMEOUT_SECONDS, TimeUnit.SECONDS).get(OrderEventOutbox.ORDER_TOPIC);
+            return clusterId + "/" + topic.topicId();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (Exception e) {
+            log.warn("Could not describe {}, consumer watermarks are not restored or written",
+                    OrderEventOutbox.ORDER_TOPIC, e);
+            return null;
+        }
+    }
+
+    /**
+     * The last {@code capacity} ids added, in an open-addressing hash set of primitive longs with
+     * a ring buffer that evicts the oldest id once full. Zero marks an empty slot, which is safe
+     * because snowflake ids are always positive.
+     */
+    static final class LongWindow {
+
+        private final long[] table;
+        private final long[] ring;
+        private final int mask;
+        private int head;
+        private int size;
+
+        LongWindow(int capacity) {
+            if (capacity <= 0) {
+                throw new IllegalArgumentException("Window capacity must be positive: " + capacity);
+            }
+            ring = new long[capacity];
+            table = new long[Integer.highestOneBit(Math.max(2, capacity) * 2 - 1) << 1];
+            mask = table.length - 1;
+        }
+
+        synchronized boolean contains(long id) {
+            for (int i = slot(id); table[i] != 0; i = (i + 1) & mask) {
+                if (table[i] == id) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        synchronized void add(long id) {
+            if (id == 0 || contains(id)) {
+                return;
+            }
+            if (size == ring.length) {
+                remove(ring[head]);
+            } else {
+                size++;
+            }
+            ring[head] = id;
+            head = (head + 1) % ring.length;
+
+            int i = slot(id);
+            while (table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+            table[i] = id;
+        }
+
+        synchronized int size() {
+            return size;
+        }
+
+        /**
+         * Removes {@code id} and shifts later entries of its probe run back, so lookups never
+         * stop early at the freed slot.
+         */
+        private void remove(long id) {
+            int i = slot(id);
+            while (table[i] != id) {
+                if (table[i] == 0) {
+                    return;
+                }
+                i = (i + 1) & mask;
+            }
+            for (int j = (i + 1) & mask; table[j] != 0; j = (j + 1) & mask) {
+                int home = slot(table[j]);
+                boolean stays = i <= j ? i < home && home <= j : i < home || home <= j;
+                if (!stays) {
+                    table[i] = table[j];
+                    i = j;
+                }
+            }
+            table[i] = 0;
+        }
+
+        private int slot(long id) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.model.OutboxEvent;
+import id.my.hendisantika.eventdrivensample.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 08.24
+ * To change this template use File | Settings | File Templates.
+ */
+
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderEventOutbox {
+
+    public static final String ORDER_TOPIC = "order-events";
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventCodec orderEventCodec;
+
+    /**
+     * Stores the event in the outbox as part of the caller's transaction, so it only
+     * becomes visible to {@link OutboxRelay} if the order change commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueue(OrderEvent orderEvent) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setTopic(ORDER_TOPIC);
+        outboxEvent.setMessageKey(orderEvent.getOrderNumber());
+        outboxEvent.setEventType(orderEvent.getEventType().name());
+        outboxEvent.setPayload(orderEventCodec.encode(orderEvent));
+
+        outboxEventRepository.save(outboxEvent);
+        log.debug("Queued order event: {} for order: {}",
+                orderEvent.getEventType(), orderEvent.getOrderNumber());
+    }
+}
@@ -1,11 +1,20 @@
 package id.my.hendisantika.eventdrivensample.event;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import lombok.RequiredArgsConstructor;
+import id.my.hendisantika.eventdrivensample.config.PublisherProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
 /**
  * Created by IntelliJ IDEA.
  * Project : spring-boot-event-driven-sample
@@ -18,24 +27,117 @@ import org.springframework.stereotype.Component;
  * To change this template use File | Settings | File Templates.
  */
 
+/**
+ * Sends order events to Kafka and reports the outcome through the returned future.
+ * The number of unacknowledged sends is capped by {@code order.publisher.max-in-flight};
+ * once the cap is reached callers block until the broker catches up, and are rejected
+ * after {@code order.publisher.acquire-timeout}.
+ */
 @Component
-@RequiredArgsConstructor
 @Slf4j
 public class OrderEventPublisher {
 
     private static final String ORDER_TOPIC = "order-events";
-    private final KafkaTemplate<String, String> kafkaTemplate;
-    private final ObjectMapper objectMapper;
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final OrderEventCodec orderEventCodec;
+    private final Semaphore inFlight;
+    private final long acquireTimeoutNanos;
+    private final Timer ackSuccessTimer;
+    private final Timer ackFailureTimer;
+    private final Counter rejectedCounter;
+
+    public OrderEventPublisher(KafkaTemplate<String, byte[]> kafkaTemplate,
+                               OrderEventCodec orderEventCodec,
+                               PublisherProperties publisherProperties,
+                               MeterRegistry meterRegistry) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.orderEventCodec = orderEventCodec;
+        this.inFlight = new Semaphore(publisherProperties.getMaxInFlight());
+        this.acquireTimeoutNanos = publisherProperties.getAcquireTimeout().toNanos();
+        this.ackSuccessTimer = Timer.builder("order.events.publish")
+                .description("Time from send to broker acknowledgement")
+                .tag("outcome", "success")
+                .register(meterRegistry);
+        this.ackFailureTimer = Timer.builder("order.events.publish")
+                .description("Time from send to broker acknowledgement")
+                .tag("outcome", "failure")
+                .register(meterRegistry);
+        this.rejectedCounter = Counter.builder("order.events.publish.rejected")
+                .description("Sends rejected because the in-flight limit was not released in time")
+                .register(meterRegistry);
+        int maxInFlight = publisherProperties.getMaxInFlight();
+        Gauge.builder("order.events.publish.in-flight", inFlight, s -> maxInFlight - s.availablePermits())
+                .description("Sends awaiting a broker acknowledgement")
+                .register(meterRegistry);
+    }
+
+    public CompletableFuture<SendResult<String, byte[]>> publishOrderEvent(OrderEvent orderEvent) {
+        byte[] payload;
+        try {
+            payload = orderEventCodec.encode(orderEvent);
+        } catch (RuntimeException e) {
+            log.error("Error serializing order event for order: {}", orderEvent.getOrderNumber(), e);
+            return CompletableFuture.failedFuture(e);
+        }
+        return publish(ORDER_TOPIC, orderEvent.getOrderNumber(), payload);
+    }
+
+    public CompletableFuture<SendResult<String, byte[]>> publish(String topic, String key, byte[] payload) {
+        if (!acquireCapacity()) {
+            rejectedCounter.increment();
+            return CompletableFuture.failedFuture(
+                    new RuntimeException("Timed out waiting for publish capacity for key: " + key));
+        }
+
+        long startNanos = System.nanoTime();
+        CompletableFuture<SendResult<String, byte[]>> send;
+        try {
+            send = kafkaTemplate.send(topic, key, payload);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            ackFailureTimer.record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+            log.error("Error publishing event to {} for key: {}", topic, key, e);
+            return CompletableFuture.failedFuture(e);
+        }
+
+        return send.whenComplete((result, ex) -> {
+            inFlight.release();
+            long elapsedNanos = System.nanoTime() - startNanos;
+            if (ex == null) {
+                ackSuccessTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                log.debug("Published event to {} for key: {} at offset: {}",
+                        topic, key, result.getRecordMetadata().offset());
+            } else {
+                ackFailureTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+                log.error("Error publishing event to {} for key: {}", topic, key, ex);
+            }
+        });
+    }
+
+    /**
+     * Runs {@code sends} in a single Kafka transaction when the template is transactional
+     * ({@code spring.kafka.producer.transaction-id-prefix} is set), so read_committed consumers
+     * see either all of the records or none. The transaction is committed, which waits for every
+     * acknowledgement, before this method returns; it is aborted and the exception rethrown if
+     * {@code sends} or the commit fails. Without transactions {@code sends} simply runs.
+     * <p>
+     * The Kafka transaction is deliberately not synchronised with a surrounding database
+     * transaction: it commits first, so a failed database commit can only lead to a re-send,
+     * which consumers drop by event id, never to a lost event.
+     */
+    public <T> T inTransaction(Supplier<T> sends) {
+        if (!kafkaTemplate.isTransactional()) {
+            return sends.get();
+        }
+        return kafkaTemplate.executeInTransaction(operations -> sends.get());
+    }
 
-    public void publishOrderEvent(OrderEvent orderEvent) {
+    private boolean acquireCapacity() {
         try {
-            String eventJson = objectMapper.writeValueAsString(orderEvent);
-            kafkaTemplate.send(ORDER_TOPIC, orderEvent.getOrderNumber(), eventJson);
-            log.info("Published order event: {} for order: {}",
-                    orderEvent.getEventType(), orderEvent.getOrderNumber());
-        } catch (Exception e) {
-            log.error("Error publishing order event for order: {}",
-                    orderEvent.getOrderNumber(), e);
+            return inFlight.tryAcquire(acquireTimeoutNanos, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
         }
     }
-}
\ No newline at end of file
+}
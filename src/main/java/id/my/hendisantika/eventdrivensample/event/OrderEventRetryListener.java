@@ -0,0 +1,117 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.Headers;
+import org.springframework.kafka.annotation.DltHandler;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.annotation.RetryableTopic;
+import org.springframework.kafka.support.KafkaHeaders;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 22.03
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Retries order events that failed on the main topic, away from {@code order-events}.
+ * <p>
+ * Each failed attempt moves the record to the next {@code order-events-retry-backoff-<delay>} topic,
+ * whose consumer holds it until the delay has passed ({@code order.consumer.retry.delay-ms},
+ * multiplied by {@code order.consumer.retry.multiplier} per tier, capped at
+ * {@code order.consumer.retry.max-delay-ms}). Only that tier's partition pauses while it waits.
+ * After {@code order.consumer.retry.attempts} attempts, or straight away for records that cannot
+ * be decoded, the record lands on {@link #DEAD_LETTER_TOPIC} and stays there until it is replayed
+ * through {@link DeadLetterReplayService}.
+ */
+@Component
+@Slf4j
+public class OrderEventRetryListener {
+
+    public static final String RETRY_TOPIC = "order-events-retry";
+    public static final String DEAD_LETTER_TOPIC = RETRY_TOPIC + "-dlt";
+
+    private final OrderEventConsumer orderEventConsumer;
+    private final Counter deadLetterCounter;
+
+    public OrderEventRetryListener(OrderEventConsumer orderEventConsumer, MeterRegistry meterRegistry) {
+        this.orderEventConsumer = orderEventConsumer;
+        this.deadLetterCounter = Counter.builder("order.events.dead-lettered")
+                .description("Order events that failed every retry and were parked on the dead-letter topic")
+                .register(meterRegistry);
+    }
+
+    @RetryableTopic(
+            attempts = "${order.consumer.retry.attempts:4}",
+            backoff = @Backoff(
+                    delayExpression = "${order.consumer.retry.delay-ms:1000}",
+                    multiplierExpression = "${order.consumer.retry.multiplier:5}",
+                    maxDelayExpression = "${order.consumer.retry.max-delay-ms:60000}"),
+            retryTopicSuffix = "-backoff",
+            dltTopicSuffix = "-dlt",
+            exclude = PoisonOrderEventException.class,
+            kafkaTemplate = "kafkaTemplate")
+    @KafkaListener(id = "order-events-retry", topics = RETRY_TOPIC, groupId = "order-retry-group")
+    public void retryOrderEvent(ConsumerRecord<String, byte[]> record) {
+        orderEventConsumer.reprocess(record);
+    }
+
+    @DltHandler
+    public void handleDeadLetter(ConsumerRecord<String, byte[]> record) {
+        deadLetterCounter.increment();
+        Headers headers = record.headers();
+        log.error("Dead-lettered order event for order: {} from {}-{}@{} after {}: {}",
+                record.key(),
+                firstString(headers, KafkaHeaders.DLT_ORIGINAL_TOPIC),
+                firstInt(headers, KafkaHeaders.DLT_ORIGINAL_PARTITION),
+                firstLong(headers, KafkaHeaders.DLT_ORIGINAL_OFFSET),
+                lastString(headers, KafkaHeaders.DLT_EXCEPTION_FQCN),
+                lastString(headers, KafkaHeaders.DLT_EXCEPTION_MESSAGE));
+    }
+
+    /*
+     * Every hop through the retry topics appends another set of original-record headers, so the
+     * first value points at order-events while the exception headers only keep the latest failure.
+     */
+
+    private static Header first(Headers headers, String name) {
+        Iterator<Header> values = headers.headers(name).iterator();
+        return values.hasNext() ? values.next() : null;
+    }
+
+    private static String firstString(Headers headers, String name) {
+        Header header = first(headers, name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+
+    private static Integer firstInt(Headers headers, String name) {
+        Header header = first(headers, name);
+        return header == null ? null : ByteBuffer.wrap(header.value()).getInt();
+    }
+
+    private static Long firstLong(Headers headers, String name) {
+        Header header = first(headers, name);
+        return header == null ? null : ByteBuffer.wrap(header.value()).getLong();
+    }
+
+    private static String lastString(Headers headers, String name) {
+        Header header = headers.lastHeader(name);
+        return header == null ? null : new String(header.value(), StandardCharsets.UTF_8);
+    }
+}
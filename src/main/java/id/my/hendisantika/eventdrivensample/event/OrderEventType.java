@@ -0,0 +1,25 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 19.05
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Types of {@link OrderEvent}. The names are what goes on the wire, so existing constants
+ * must not be renamed.
+ */
+public enum OrderEventType {
+    ORDER_CREATED,
+    ORDER_CONFIRMED,
+    ORDER_SHIPPED,
+    ORDER_DELIVERED,
+    ORDER_CANCELLED
+}
@@ -0,0 +1,134 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OutboxProperties;
+import id.my.hendisantika.eventdrivensample.model.OutboxEvent;
+import id.my.hendisantika.eventdrivensample.repository.OutboxEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 08.31
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Drains the order outbox to Kafka. Each run keeps relaying full batches until the outbox
+ * is empty, then lingers for {@code order.outbox.linger-ms} before polling again.
+ */
+@Component
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderEventPublisher orderEventPublisher;
+    private final OutboxProperties outboxProperties;
+    private final TransactionTemplate transactionTemplate;
+
+    public OutboxRelay(OutboxEventRepository outboxEventRepository,
+                       OrderEventPublisher orderEventPublisher,
+                       OutboxProperties outboxProperties,
+                       PlatformTransactionManager transactionManager) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.orderEventPublisher = orderEventPublisher;
+        this.outboxProperties = outboxProperties;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.linger-ms:100}")
+    public void relay() {
+        int relayed;
+        do {
+            Integer count = transactionTemplate.execute(status -> relayBatch());
+            relayed = count == null ? 0 : count;
+        } while (relayed >= outboxProperties.getBatchSize());
+    }
+
+    /**
+     * Sends one batch and deletes the rows the broker acknowledged. Rows whose send failed
+     * stay in the outbox and are picked up again by the next run, and so do the later rows of the
+     * same order even if they were acknowledged, so the retry publishes that order's events in
+     * their original order again (consumers drop the re-sent copies by event id). With a
+     * transactional producer the batch is sent in one Kafka transaction and is kept whole if that
+     * transaction aborts.
+     *
+     * @return the number of events delivered by this batch
+     */
+    int relayBatch() {
+        List<OutboxEvent> batch = outboxEventRepository.lockNextBatch(outboxProperties.getBatchSize());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<CompletableFuture<?>> sends;
+        try {
+            sends = orderEventPublisher.inTransaction(() -> send(batch));
+        } catch (RuntimeException e) {
+            // Only reachable with a transactional producer: nothing from this batch became visible
+            log.warn("Outbox batch of {} events was rolled back: {}", batch.size(), e.getMessage());
+            return 0;
+        }
+
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(outboxProperties.getSendTimeout().toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Outbox batch of {} events was not fully acknowledged: {}", batch.size(), e.getMessage());
+        }
+
+        List<OutboxEvent> delivered = deliveredInKeyOrder(batch, sends);
+        outboxEventRepository.deleteAllInBatch(delivered);
+
+        log.debug("Relayed {} of {} outbox events", delivered.size(), batch.size());
+        return delivered.size();
+    }
+
+    /**
+     * The acknowledged rows of {@code batch} that precede the first unacknowledged row of their
+     * message key. The batch is in id order, which is the order the events were written in.
+     */
+    static List<OutboxEvent> deliveredInKeyOrder(List<OutboxEvent> batch, List<CompletableFuture<?>> sends) {
+        List<OutboxEvent> delivered = new ArrayList<>(batch.size());
+        Set<String> blockedKeys = new HashSet<>();
+        for (int i = 0; i < batch.size(); i++) {
+            OutboxEvent outboxEvent = batch.get(i);
+            if (blockedKeys.contains(outboxEvent.getMessageKey())) {
+                continue;
+            }
+            CompletableFuture<?> send = sends.get(i);
+            if (send.isDone() && !send.isCompletedExceptionally()) {
+                delivered.add(outboxEvent);
+            } else {
+                blockedKeys.add(outboxEvent.getMessageKey());
+            }
+        }
+        return delivered;
+    }
+
+    private List<CompletableFuture<?>> send(List<OutboxEvent> batch) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+        for (OutboxEvent outboxEvent : batch) {
+            sends.add(orderEventPublisher.publish(
+                    outboxEvent.getTopic(), outboxEvent.getMessageKey(), outboxEvent.getPayload()));
+        }
+        return sends;
+    }
+}
@@ -0,0 +1,24 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 21.48
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Thrown when a record cannot be decoded into an {@link OrderEvent}. Retrying cannot fix such a
+ * record, so it goes straight to the dead-letter topic.
+ */
+public class PoisonOrderEventException extends RuntimeException {
+
+    public PoisonOrderEventException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
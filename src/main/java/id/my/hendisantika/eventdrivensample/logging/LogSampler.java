@@ -0,0 +1,88 @@
+package id.my.hendisantika.eventdrivensample.logging;
+
+import id.my.hendisantika.eventdrivensample.config.LoggingProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 19.44
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Rate limiter for per-event log lines. Each category may log up to
+ * {@code order.logging.sampled-events-per-second} lines per second; the rest are dropped and
+ * counted, and the count is handed to the next line that gets through so it can be logged with it.
+ * <p>
+ * The window and its counter share one {@link AtomicLong}, so sampling is a CAS and never blocks.
+ */
+@Component
+public class LogSampler {
+
+    /**
+     * Returned by {@link #sample} when the line should not be logged.
+     */
+    public static final long SUPPRESSED = -1;
+
+    private static final long ORIGIN_NANOS = System.nanoTime();
+
+    private final int permitsPerSecond;
+    private final ConcurrentMap<String, Window> windows = new ConcurrentHashMap<>();
+
+    public LogSampler(LoggingProperties loggingProperties) {
+        this.permitsPerSecond = loggingProperties.getSampledEventsPerSecond();
+    }
+
+    /**
+     * @return {@link #SUPPRESSED} if the line should be dropped, otherwise the number of lines in
+     * {@code category} dropped since the last one that was logged
+     */
+    public long sample(String category) {
+        if (permitsPerSecond <= 0) {
+            return 0;
+        }
+        Window window = windows.get(category);
+        if (window == null) {
+            window = windows.computeIfAbsent(category, c -> new Window());
+        }
+        return window.acquire(permitsPerSecond);
+    }
+
+    private static final class Window {
+
+        private final AtomicLong secondAndCount = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
+
+        long acquire(int permitsPerSecond) {
+            long second = TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - ORIGIN_NANOS) + 1;
+            while (true) {
+                long current = secondAndCount.get();
+                long next;
+                if (current >>> 32 == second) {
+                    if ((int) current >= permitsPerSecond) {
+                        suppressed.increment();
+                        return SUPPRESSED;
+                    }
+                    next = current + 1;
+                } else {
+                    next = second << 32 | 1;
+                }
+                if (secondAndCount.compareAndSet(current, next)) {
+                    return suppressed.sumThenReset();
+                }
+            }
+        }
+    }
+}
@@ -11,11 +11,54 @@ package id.my.hendisantika.eventdrivensample.model;
  * Time: 06.25
  * To change this template use File | Settings | File Templates.
  */
+
+/**
+ * Order lifecycle status. Stored by name in the database; binary encodings use the explicit
+ * {@link #getWireCode() wire code} so reordering or adding constants never changes what stored
+ * events mean. Never renumber or reuse a code.
+ */
 public enum OrderStatus {
-    CREATED,
-    CONFIRMED,
-    PROCESSING,
-    SHIPPED,
-    DELIVERED,
-    CANCELLED
-}
\ No newline at end of file
+    CREATED(0),
+    CONFIRMED(1),
+    PROCESSING(2),
+    SHIPPED(3),
+    DELIVERED(4),
+    CANCELLED(5);
+
+    private static final OrderStatus[] BY_WIRE_CODE;
+
+    static {
+        int maxCode = 0;
+        for (OrderStatus status : values()) {
+            maxCode = Math.max(maxCode, status.wireCode);
+        }
+        BY_WIRE_CODE = new OrderStatus[maxCode + 1];
+        for (OrderStatus status : values()) {
+            if (BY_WIRE_CODE[status.wireCode] != null) {
+                throw new IllegalStateException("Duplicate order status wire code: " + status.wireCode);
+            }
+            BY_WIRE_CODE[status.wireCode] = status;
+        }
+    }
+
+    private final int wireCode;
+
+    OrderStatus(int wireCode) {
+        this.wireCode = wireCode;
+    }
+
+    public int getWireCode() {
+        return wireCode;
+    }
+
+    /**
+     * @throws IllegalArgumentException if no status has this code
+     */
+    public static OrderStatus fromWireCode(int wireCode) {
+        OrderStatus status = wireCode >= 0 && wireCode < BY_WIRE_CODE.length ? BY_WIRE_CODE[wireCode] : null;
+        if (status == null) {
+            throw new IllegalArgumentException("Unknown order status wire code: " + wireCode);
+        }
+        return status;
+    }
+}
@@ -0,0 +1,28 @@
+package id.my.hendisantika.eventdrivensample.projection;
+
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 20.55
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Receives every change {@link OrderProjection} makes, including orders restored from a snapshot.
+ * Called on the projection listener thread, so implementations have a single writer.
+ */
+public interface OrderChangeListener {
+
+    /**
+     * @param previous the order before the change, or {@code null} if the projection did not know it
+     * @param current  the order after the change
+     */
+    void onOrderChanged(OrderResponse previous, OrderResponse current);
+}
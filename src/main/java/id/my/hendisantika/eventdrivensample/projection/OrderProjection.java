@@ -0,0 +1,291 @@
+package id.my.hendisantika.eventdrivensample.projection;
+
+import id.my.hendisantika.eventdrivensample.config.ProjectionProperties;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 20.12
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * In-memory, read-optimised view of every order, built by {@link OrderProjectionListener} from
+ * the order-events topic. Each event replaces the order's entry with a new immutable-in-practice
+ * {@link OrderResponse}, so readers never see a half-applied event.
+ * <p>
+ * Orders and the next offset per partition are written to a snapshot file every
+ * {@code order.projection.snapshot-interval} and on shutdown. On startup the snapshot is loaded
+ * and the listener resumes from its offsets instead of replaying the whole topic.
+ * <p>
+ * Only the listener thread may call {@link #apply} and {@link #snapshotIfDue}.
+ */
+@Component
+@Slf4j
+public class OrderProjection implements InitializingBean, DisposableBean {
+
+    private static final int SNAPSHOT_MAGIC = 0x4F505331;
+    private static final int SNAPSHOT_VERSION = 1;
+
+    private final ProjectionProperties projectionProperties;
+    private final List<OrderChangeListener> changeListeners;
+    private final Map<String, OrderResponse> orders = new ConcurrentHashMap<>();
+    private final Map<Integer, Long> nextOffsets = new ConcurrentHashMap<>();
+    private volatile boolean caughtUp;
+    private long lastSnapshotNanos = System.nanoTime();
+    private boolean dirty;
+
+    public OrderProjection(ProjectionProperties projectionProperties, List<OrderChangeListener> changeListeners) {
+        this.projectionProperties = projectionProperties;
+        this.changeListeners = changeListeners;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        if (projectionProperties.isEnabled()) {
+            restoreSnapshot();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (projectionProperties.isEnabled() && dirty) {
+            writeSnapshot();
+        }
+    }
+
+    /**
+     * Returns the projected order, or empty if reads are not served from the projection, it has
+     * not caught up with the topic yet, or it does not know the order.
+     */
+    public Optional<OrderResponse> find(String orderNumber) {
+        if (!projectionProperties.isServeReads() || !caughtUp) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(orders.get(orderNumber));
+    }
+
+    public int size() {
+        return orders.size();
+    }
+
+    /**
+     * Applies one event read from {@code partition} at {@code offset}.
+     */
+    public void apply(OrderEvent orderEvent, int partition, long offset) {
+        if (orderEvent != null && orderEvent.getOrderNumber() != null) {
+            OrderResponse previous = orders.get(orderEvent.getOrderNumber());
+            OrderResponse current = project(previous, orderEvent);
+            orders.put(orderEvent.getOrderNumber(), current);
+            notifyChanged(previous, current);
+        }
+        nextOffsets.put(partition, offset + 1);
+        dirty = true;
+    }
+
+    /**
+     * Offset to resume {@code partition} from, or {@code null} if the snapshot has none.
+     */
+    public Long nextOffset(int partition) {
+        return nextOffsets.get(partition);
+    }
+
+    public boolean isCaughtUp() {
+        return caughtUp;
+    }
+
+    void markCaughtUp() {
+        if (!caughtUp) {
+            caughtUp = true;
+            log.info("Order projection caught up with {} orders", orders.size());
+        }
+    }
+
+    void snapshotIfDue() {
+        if (dirty && System.nanoTime() - lastSnapshotNanos >= projectionProperties.getSnapshotInterval().toNanos()) {
+            writeSnapshot();
+        }
+    }
+
+    private void notifyChanged(OrderResponse previous, OrderResponse current) {
+        for (OrderChangeListener changeListener : changeListeners) {
+            changeListener.onOrderChanged(previous, current);
+        }
+    }
+
+    static OrderResponse project(OrderResponse previous, OrderEvent orderEvent) {
+        LocalDateTime createdAt = previous != null ? previous.getCreatedAt()
+                : orderEvent.getEventType() == OrderEventType.ORDER_CREATED ? orderEvent.getTimestamp() : null;
+        return new OrderResponse(
+                orderEvent.getOrderId(),
+                orderEvent.getOrderNumber(),
+                orderEvent.getCustomerName(),
+                orderEvent.getCustomerEmail(),
+                orderEvent.getProductName(),
+                orderEvent.getQuantity(),
+                orderEvent.getUnitPrice(),
+                orderEvent.getTotalAmount(),
+                orderEvent.getStatus(),
+                createdAt,
+                orderEvent.getTimestamp()
+        );
+    }
+
+    void writeSnapshot() {
+        Path path = projectionProperties.getSnapshotPath();
+        long start = System.nanoTime();
+        try {
+            Path parent = path.toAbsolutePath().getParent();
+            Files.createDirectories(parent);
+            Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_VERSION);
+                out.writeInt(nextOffsets.size());
+                for (Map.Entry<Integer, Long> entry : nextOffsets.entrySet()) {
+                    out.writeInt(entry.getKey());
+                    out.writeLong(entry.getValue());
+                }
+                out.writeInt(orders.size());
+                for (OrderResponse order : orders.values()) {
+                    writeOrder(out, order);
+                }
+            }
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            dirty = false;
+            log.info("Wrote order projection snapshot of {} orders to {} in {} ms",
+                    orders.size(), path, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException e) {
+            log.error("Error writing order projection snapshot to {}", path, e);
+        } finally {
+            lastSnapshotNanos = System.nanoTime();
+        }
+    }
+
+    void restoreSnapshot() {
+        Path path = projectionProperties.getSnapshotPath();
+        if (!Files.exists(path)) {
+            log.info("No order projection snapshot at {}, rebuilding from the start of the topic", path);
+            return;
+        }
+        long start = System.nanoTime();
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(path), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_VERSION) {
+                log.warn("Ignoring order projection snapshot {} with unknown format", path);
+                return;
+            }
+            int partitions = in.readInt();
+            Map<Integer, Long> restoredOffsets = new HashMap<>(partitions);
+            for (int i = 0; i < partitions; i++) {
+                restoredOffsets.put(in.readInt(), in.readLong());
+            }
+            int count = in.readInt();
+            List<OrderResponse> restoredOrders = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                restoredOrders.add(readOrder(in));
+            }
+
+            nextOffsets.putAll(restoredOffsets);
+            for (OrderResponse order : restoredOrders) {
+                notifyChanged(orders.put(order.getOrderNumber(), order), order);
+            }
+            log.info("Restored order projection snapshot of {} orders from {} in {} ms",
+                    count, path, (System.nanoTime() - start) / 1_000_000);
+        } catch (IOException | IllegalArgumentException e) {
+            log.error("Error reading order projection snapshot {}, rebuilding from the start of the topic", path, e);
+        }
+    }
+
+    private static void writeOrder(DataOutputStream out, OrderResponse order) throws IOException {
+        out.writeLong(order.getId() == null ? -1 : order.getId());
+        out.writeUTF(order.getOrderNumber());
+        writeNullableString(out, order.getCustomerName());
+        writeNullableString(out, order.getCustomerEmail());
+        writeNullableString(out, order.getProductName());
+        out.writeInt(order.getQuantity() == null ? -1 : order.getQuantity());
+        writeNullableString(out, order.getUnitPrice() == null ? null : order.getUnitPrice().toPlainString());
+        writeNullableString(out, order.getTotalAmount() == null ? null : order.getTotalAmount().toPlainString());
+        out.writeByte(order.getStatus() == null ? -1 : order.getStatus().getWireCode());
+        writeNullableTimestamp(out, order.getCreatedAt());
+        writeNullableTimestamp(out, order.getUpdatedAt());
+    }
+
+    private static OrderResponse readOrder(DataInputStream in) throws IOException {
+        long id = in.readLong();
+        String orderNumber = in.readUTF();
+        String customerName = readNullableString(in);
+        String customerEmail = readNullableString(in);
+        String productName = readNullableString(in);
+        int quantity = in.readInt();
+        String unitPrice = readNullableString(in);
+        String totalAmount = readNullableString(in);
+        byte status = in.readByte();
+        return new OrderResponse(
+                id < 0 ? null : id,
+                orderNumber,
+                customerName,
+                customerEmail,
+                productName,
+                quantity < 0 ? null : quantity,
+                unitPrice == null ? null : new BigDecimal(unitPrice),
+                totalAmount == null ? null : new BigDecimal(totalAmount),
+                status < 0 ? null : OrderStatus.fromWireCode(status),
+                readNullableTimestamp(in),
+                readNullableTimestamp(in)
+        );
+    }
+
+    private static void writeNullableString(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullableString(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeNullableTimestamp(DataOutputStream out, LocalDateTime value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeLong(value.toEpochSecond(ZoneOffset.UTC));
+            out.writeInt(value.getNano());
+        }
+    }
+
+    private static LocalDateTime readNullableTimestamp(DataInputStream in) throws IOException {
+        return in.readBoolean() ? LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC) : null;
+    }
+}
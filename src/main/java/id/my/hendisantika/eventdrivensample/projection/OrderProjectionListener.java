@@ -0,0 +1,153 @@
+package id.my.hendisantika.eventdrivensample.projection;
+
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventCodec;
+import id.my.hendisantika.eventdrivensample.event.OrderEventOutbox;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.ListOffsetsOptions;
+import org.apache.kafka.clients.admin.ListOffsetsResult;
+import org.apache.kafka.clients.admin.OffsetSpec;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.IsolationLevel;
+import org.apache.kafka.common.TopicPartition;
+import org.springframework.context.event.EventListener;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.event.ListenerContainerIdleEvent;
+import org.springframework.kafka.listener.ConsumerSeekAware;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 20.30
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Feeds {@link OrderProjection} from the order-events topic. Like the cache invalidation listener,
+ * each node joins its own consumer group so it sees every partition. On assignment it seeks to
+ * the offsets stored in the projection snapshot, or to the beginning of the topic without one.
+ * <p>
+ * The read_committed end offsets at assignment time are recorded, and the projection is marked
+ * caught up (and starts serving reads) once the consumer's position has reached them. The position
+ * is compared rather than the last applied offset, because with a transactional producer the end
+ * offset lies past a commit marker that is never delivered as a record. The check also runs when
+ * the container goes idle, since the marker can be the last thing on the partition.
+ */
+@Component
+@Slf4j
+public class OrderProjectionListener implements ConsumerSeekAware {
+
+    private final OrderProjection orderProjection;
+    private final OrderEventCodec orderEventCodec;
+    private final KafkaAdmin kafkaAdmin;
+    private final Map<TopicPartition, Long> catchUpOffsets = new ConcurrentHashMap<>();
+
+    public OrderProjectionListener(OrderProjection orderProjection,
+                                   OrderEventCodec orderEventCodec,
+                                   KafkaAdmin kafkaAdmin) {
+        this.orderProjection = orderProjection;
+        this.orderEventCodec = orderEventCodec;
+        this.kafkaAdmin = kafkaAdmin;
+    }
+
+    @KafkaListener(id = "order-projection", topics = OrderEventOutbox.ORDER_TOPIC,
+            groupId = "#{'order-projection-' + T(java.util.UUID).randomUUID()}",
+            autoStartup = "${order.projection.enabled:false}",
+            properties = {"auto.offset.reset=earliest", "enable.auto.commit=false"})
+    public void onOrderEvent(ConsumerRecord<String, byte[]> record, Consumer<?, ?> consumer) {
+        OrderEvent orderEvent = null;
+        try {
+            orderEvent = orderEventCodec.decode(record.value());
+        } catch (RuntimeException e) {
+            log.error("Skipping undecodable order event for order: {} at {}-{}@{}",
+                    record.key(), record.topic(), record.partition(), record.offset(), e);
+        }
+        orderProjection.apply(orderEvent, record.partition(), record.offset());
+        orderProjection.snapshotIfDue();
+        if (!orderProjection.isCaughtUp()) {
+            checkCaughtUp(consumer);
+        }
+    }
+
+    /**
+     * Idle events are published on the consumer thread, so the consumer may be used here.
+     */
+    @EventListener(condition = "event.listenerId.startsWith('order-projection-')")
+    public void onIdle(ListenerContainerIdleEvent event) {
+        if (!orderProjection.isCaughtUp()) {
+            checkCaughtUp(event.getConsumer());
+        }
+    }
+
+    @Override
+    public void onPartitionsAssigned(Map<TopicPartition, Long> assignments, ConsumerSeekCallback callback) {
+        for (TopicPartition partition : assignments.keySet()) {
+            Long nextOffset = orderProjection.nextOffset(partition.partition());
+            if (nextOffset == null) {
+                callback.seekToBeginning(partition.topic(), partition.partition());
+            } else {
+                callback.seek(partition.topic(), partition.partition(), nextOffset);
+            }
+        }
+        recordCatchUpOffsets(assignments.keySet());
+        checkSnapshotCaughtUp();
+    }
+
+    private void recordCatchUpOffsets(Iterable<TopicPartition> partitions) {
+        Map<TopicPartition, OffsetSpec> latest = new HashMap<>();
+        partitions.forEach(partition -> latest.put(partition, OffsetSpec.latest()));
+        try (AdminClient admin = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            Map<TopicPartition, ListOffsetsResult.ListOffsetsResultInfo> endOffsets = admin
+                    .listOffsets(latest, new ListOffsetsOptions(IsolationLevel.READ_COMMITTED))
+                    .all().get(30, TimeUnit.SECONDS);
+            endOffsets.forEach((partition, info) -> catchUpOffsets.put(partition, info.offset()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("Could not read order-events end offsets, projection reads stay disabled until they are known", e);
+        }
+    }
+
+    /**
+     * Catches up straight away when the snapshot already covers the end offsets, e.g. on an empty
+     * topic. The seeks are still pending here, so the consumer position cannot be used yet.
+     */
+    private void checkSnapshotCaughtUp() {
+        if (catchUpOffsets.isEmpty()) {
+            return;
+        }
+        for (Map.Entry<TopicPartition, Long> entry : catchUpOffsets.entrySet()) {
+            Long nextOffset = orderProjection.nextOffset(entry.getKey().partition());
+            if ((nextOffset == null ? 0 : nextOffset) < entry.getValue()) {
+                return;
+            }
+        }
+        orderProjection.markCaughtUp();
+    }
+
+    private void checkCaughtUp(Consumer<?, ?> consumer) {
+        if (catchUpOffsets.isEmpty() || !consumer.assignment().containsAll(catchUpOffsets.keySet())) {
+            return;
+        }
+        for (Map.Entry<TopicPartition, Long> entry : catchUpOffsets.entrySet()) {
+            if (consumer.position(entry.getKey()) < entry.getValue()) {
+                return;
+            }
+        }
+        orderProjection.markCaughtUp();
+    }
+}
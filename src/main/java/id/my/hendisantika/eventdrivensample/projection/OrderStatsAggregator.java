@@ -0,0 +1,144 @@
+package id.my.hendisantika.eventdrivensample.projection;
+
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.dto.OrderStatsResponse;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 21.02
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Order counts per status and revenue per product and per day, kept up to date from
+ * {@link OrderProjection} changes instead of being computed with table scans.
+ * <p>
+ * Each change moves the order out of its previous status and revenue buckets and into the new
+ * ones, so the aggregates always match the projection. Revenue is the total amount of orders that
+ * are not cancelled, held in cents in {@link LongAdder}s and attributed to the day the order was
+ * created.
+ */
+@Component
+public class OrderStatsAggregator implements OrderChangeListener {
+
+    private static final int CENTS_SCALE = 2;
+
+    private final LongAdder[] countsByStatus = new LongAdder[OrderStatus.values().length];
+    private final LongAdder revenueCents = new LongAdder();
+    private final ConcurrentMap<String, LongAdder> revenueCentsByProduct = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<LocalDate, LongAdder> revenueCentsByDay = new ConcurrentSkipListMap<>();
+
+    public OrderStatsAggregator() {
+        for (int i = 0; i < countsByStatus.length; i++) {
+            countsByStatus[i] = new LongAdder();
+        }
+    }
+
+    @Override
+    public void onOrderChanged(OrderResponse previous, OrderResponse current) {
+        if (previous != null) {
+            add(previous, -1);
+        }
+        add(current, 1);
+    }
+
+    /**
+     * @param upToDate whether the projection feeding these aggregates has caught up with the topic
+     */
+    public OrderStatsResponse getStats(boolean upToDate) {
+        Map<OrderStatus, Long> counts = new EnumMap<>(OrderStatus.class);
+        long total = 0;
+        for (OrderStatus status : OrderStatus.values()) {
+            long count = countsByStatus[status.ordinal()].sum();
+            counts.put(status, count);
+            total += count;
+        }
+        return new OrderStatsResponse(counts, total, toAmount(revenueCents.sum()), upToDate);
+    }
+
+    public long getCount(OrderStatus status) {
+        return countsByStatus[status.ordinal()].sum();
+    }
+
+    public Map<String, BigDecimal> getRevenueByProduct() {
+        Map<String, BigDecimal> revenue = new LinkedHashMap<>();
+        revenueCentsByProduct.forEach((product, cents) -> {
+            long sum = cents.sum();
+            if (sum != 0) {
+                revenue.put(product, toAmount(sum));
+            }
+        });
+        return revenue;
+    }
+
+    /**
+     * Revenue per day for {@code from} to {@code to}, both inclusive; either may be {@code null}
+     * for an open range.
+     */
+    public Map<LocalDate, BigDecimal> getRevenueByDay(LocalDate from, LocalDate to) {
+        NavigableMap<LocalDate, LongAdder> days = revenueCentsByDay;
+        if (from != null) {
+            days = days.tailMap(from, true);
+        }
+        if (to != null) {
+            days = days.headMap(to, true);
+        }
+        Map<LocalDate, BigDecimal> revenue = new LinkedHashMap<>();
+        days.forEach((day, cents) -> {
+            long sum = cents.sum();
+            if (sum != 0) {
+                revenue.put(day, toAmount(sum));
+            }
+        });
+        return revenue;
+    }
+
+    private void add(OrderResponse order, int sign) {
+        if (order.getStatus() == null) {
+            return;
+        }
+        countsByStatus[order.getStatus().ordinal()].add(sign);
+        if (order.getStatus() == OrderStatus.CANCELLED || order.getTotalAmount() == null) {
+            return;
+        }
+
+        long cents = sign * toCents(order.getTotalAmount());
+        revenueCents.add(cents);
+        if (order.getProductName() != null) {
+            revenueCentsByProduct.computeIfAbsent(order.getProductName(), p -> new LongAdder()).add(cents);
+        }
+        LocalDateTime createdAt = order.getCreatedAt() != null ? order.getCreatedAt() : order.getUpdatedAt();
+        if (createdAt != null) {
+            revenueCentsByDay.computeIfAbsent(createdAt.toLocalDate(), d -> new LongAdder()).add(cents);
+        }
+    }
+
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(CENTS_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    private static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, CENTS_SCALE);
+    }
+}
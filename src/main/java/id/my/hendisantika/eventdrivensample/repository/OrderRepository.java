@@ -1,15 +1,22 @@
 package id.my.hendisantika.eventdrivensample.repository;
 
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
 import id.my.hendisantika.eventdrivensample.model.Order;
 import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Created by IntelliJ IDEA.
@@ -28,14 +35,71 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
 
     Optional<Order> findByOrderNumber(String orderNumber);
 
-    List<Order> findByCustomerEmail(String customerEmail);
-
     List<Order> findByStatus(OrderStatus status);
 
     @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
     List<Order> findOrdersByDateRange(@Param("startDate") LocalDateTime startDate,
                                       @Param("endDate") LocalDateTime endDate);
 
+    @Query("SELECT o.status FROM Order o WHERE o.orderNumber = :orderNumber")
+    Optional<OrderStatus> findStatusByOrderNumber(@Param("orderNumber") String orderNumber);
+
+    /**
+     * Moves the order to {@code toStatus} if its current status is one of {@code fromStatuses}, checking
+     * the guard and applying the change in a single statement. Returns the updated row, or empty if the
+     * order does not exist or is in another status. Statuses are passed by name, as stored.
+     */
+    @Query(value = "UPDATE orders SET status = :toStatus, version = version + 1, updated_at = :updatedAt " +
+            "WHERE order_number = :orderNumber AND status IN (:fromStatuses) RETURNING *", nativeQuery = true)
+    Optional<Order> updateStatus(@Param("orderNumber") String orderNumber,
+                                 @Param("fromStatuses") Collection<String> fromStatuses,
+                                 @Param("toStatus") String toStatus,
+                                 @Param("updatedAt") LocalDateTime updatedAt);
+
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     Long countByStatus(@Param("status") OrderStatus status);
+
+    @Query("SELECT o FROM Order o ORDER BY o.createdAt, o.id")
+    List<Order> findFirstPage(Limit limit);
+
+    /**
+     * Keyset page: orders strictly after the {@code (createdAt, id)} position of the previous page.
+     * The row-value comparison lets PostgreSQL start a range scan on {@code (created_at, id)}
+     * at the cursor instead of filtering from the start of the index.
+     */
+    @Query("SELECT o FROM Order o WHERE (o.createdAt, o.id) > (:createdAt, :id) ORDER BY o.createdAt, o.id")
+    List<Order> findPageAfter(@Param("createdAt") LocalDateTime createdAt, @Param("id") Long id, Limit limit);
+
+    /**
+     * First page of a customer's orders, newest first, as DTOs. Rows are read from the
+     * {@code (customer_email, created_at, id)} index and never enter the persistence context.
+     */
+    @Query("SELECT new id.my.hendisantika.eventdrivensample.dto.OrderResponse(o.id, o.orderNumber, o.customerName, " +
+            "o.customerEmail, o.productName, o.quantity, o.unitPrice, o.totalAmount, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.customerEmail = :customerEmail ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findHistoryFirstPage(@Param("customerEmail") String customerEmail, Limit limit);
+
+    /**
+     * Keyset page of a customer's orders strictly before the {@code (createdAt, id)} position of the
+     * previous page, newest first. The row-value comparison bounds the backward range scan on
+     * {@code (customer_email, created_at, id)} at the cursor.
+     */
+    @Query("SELECT new id.my.hendisantika.eventdrivensample.dto.OrderResponse(o.id, o.orderNumber, o.customerName, " +
+            "o.customerEmail, o.productName, o.quantity, o.unitPrice, o.totalAmount, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o WHERE o.customerEmail = :customerEmail AND (o.createdAt, o.id) < (:createdAt, :id) " +
+            "ORDER BY o.createdAt DESC, o.id DESC")
+    List<OrderResponse> findHistoryPageBefore(@Param("customerEmail") String customerEmail,
+                                              @Param("createdAt") LocalDateTime createdAt,
+                                              @Param("id") Long id, Limit limit);
+
+    /**
+     * Streams every order as a DTO through a server-side cursor. Rows are fetched
+     * {@code fetchSize} at a time and never enter the persistence context.
+     * Must be consumed inside a transaction and closed afterwards.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new id.my.hendisantika.eventdrivensample.dto.OrderResponse(o.id, o.orderNumber, o.customerName, " +
+            "o.customerEmail, o.productName, o.quantity, o.unitPrice, o.totalAmount, o.status, o.createdAt, o.updatedAt) " +
+            "FROM Order o ORDER BY o.createdAt, o.id")
+    Stream<OrderResponse> streamAllAsResponses();
 }
\ No newline at end of file
@@ -0,0 +1,199 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.my.hendisantika.eventdrivensample.dto.BatchOrderResult;
+import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 16.25
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Creates orders in bulk. Items are validated one by one, and valid items are persisted in chunks
+ * through {@link OrderService#createOrders}. Each chunk is one transaction that batch-inserts the
+ * orders and their ORDER_CREATED outbox rows. The outbox relay then sends those events to Kafka
+ * as a pipelined batch.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OrderBatchService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_ITEMS = 50_000;
+    public static final String OVERFLOW_ERROR = "Batch exceeds " + MAX_ITEMS + " orders; remaining items were not read";
+
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Reads a JSON array of {@link OrderRequest}s one element at a time, so only the current element
+     * and the pending chunk are held in memory. An element that does not map to an order is rejected
+     * without affecting the others; malformed JSON rejects the element it occurs in and ends the
+     * batch, since nothing after it can be read. Reading stops at the first element past
+     * {@value #MAX_ITEMS}, which is rejected once for the rest of the array.
+     *
+     * @throws IllegalArgumentException if the body is not a JSON array
+     */
+    public List<BatchOrderResult> createOrders(JsonParser json) throws IOException {
+        if (json.nextToken() != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array of orders");
+        }
+        ChunkWriter writer = new ChunkWriter();
+        int index = 0;
+        while (true) {
+            JsonNode item;
+            try {
+                if (json.nextToken() == JsonToken.END_ARRAY) {
+                    break;
+                }
+                if (index == MAX_ITEMS) {
+                    writer.rejectOverflow();
+                    break;
+                }
+                item = objectMapper.readTree(json);
+            } catch (JsonProcessingException e) {
+                writer.reject(index, "Malformed order: " + e.getOriginalMessage());
+                break;
+            }
+            try {
+                writer.add(index, objectMapper.treeToValue(item, OrderRequest.class));
+            } catch (JsonProcessingException e) {
+                writer.reject(index, "Malformed order: " + e.getOriginalMessage());
+            }
+            index++;
+        }
+        return writer.finish();
+    }
+
+    /**
+     * Reads one JSON {@link OrderRequest} per line. A line that cannot be parsed is rejected
+     * without affecting the other lines. Reading stops at the first line past {@value #MAX_ITEMS},
+     * which is rejected once for the rest of the stream.
+     */
+    public List<BatchOrderResult> createOrders(BufferedReader ndjson) throws IOException {
+        ChunkWriter writer = new ChunkWriter();
+        int index = 0;
+        String line;
+        while ((line = ndjson.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            if (index == MAX_ITEMS) {
+                writer.rejectOverflow();
+                break;
+            }
+            try {
+                writer.add(index, objectMapper.readValue(line, OrderRequest.class));
+            } catch (IOException e) {
+                writer.reject(index, "Malformed order: " + e.getOriginalMessage());
+            }
+            index++;
+        }
+        return writer.finish();
+    }
+
+    public static String validate(OrderRequest orderRequest) {
+        if (orderRequest == null) {
+            return "Order is required";
+        }
+        if (isBlank(orderRequest.getCustomerName())) {
+            return "customerName is required";
+        }
+        if (isBlank(orderRequest.getCustomerEmail())) {
+            return "customerEmail is required";
+        }
+        if (isBlank(orderRequest.getProductName())) {
+            return "productName is required";
+        }
+        if (orderRequest.getQuantity() == null || orderRequest.getQuantity() <= 0) {
+            return "quantity must be positive";
+        }
+        if (orderRequest.getUnitPrice() == null || orderRequest.getUnitPrice().compareTo(BigDecimal.ZERO) <= 0) {
+            return "unitPrice must be positive";
+        }
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    private final class ChunkWriter {
+
+        private final List<BatchOrderResult> results = new ArrayList<>();
+        private final List<OrderRequest> pending = new ArrayList<>(CHUNK_SIZE);
+        private final List<Integer> pendingIndexes = new ArrayList<>(CHUNK_SIZE);
+
+        void add(int index, OrderRequest orderRequest) {
+            String error = validate(orderRequest);
+            if (error != null) {
+                reject(index, error);
+                return;
+            }
+            pending.add(orderRequest);
+            pendingIndexes.add(index);
+            if (pending.size() == CHUNK_SIZE) {
+                flush();
+            }
+        }
+
+        void reject(int index, String error) {
+            results.add(new BatchOrderResult(index, false, null, error));
+        }
+
+        void rejectOverflow() {
+            reject(MAX_ITEMS, OVERFLOW_ERROR);
+        }
+
+        List<BatchOrderResult> finish() {
+            flush();
+            results.sort(Comparator.comparingInt(BatchOrderResult::getIndex));
+            long created = results.stream().filter(BatchOrderResult::isSuccess).count();
+            log.info("Batch order creation: {} created, {} rejected", created, results.size() - created);
+            return results;
+        }
+
+        private void flush() {
+            if (pending.isEmpty()) {
+                return;
+            }
+            try {
+                List<OrderResponse> created = orderService.createOrders(pending);
+                for (int i = 0; i < created.size(); i++) {
+                    results.add(new BatchOrderResult(pendingIndexes.get(i), true, created.get(i), null));
+                }
+            } catch (RuntimeException e) {
+                log.error("Error creating chunk of {} orders", pending.size(), e);
+                for (Integer index : pendingIndexes) {
+                    reject(index, "Error creating order: " + e.getMessage());
+                }
+            }
+            pending.clear();
+            pendingIndexes.clear();
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.model.Order;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 17.40
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Maps {@link Order} entities to API responses and outgoing events.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderMapper {
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    public OrderResponse toResponse(Order order) {
+        return new OrderResponse(
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomerName(),
+                order.getCustomerEmail(),
+                order.getProductName(),
+                order.getQuantity(),
+                order.getUnitPrice(),
+                order.getTotalAmount(),
+                order.getStatus(),
+                order.getCreatedAt(),
+                order.getUpdatedAt()
+        );
+    }
+
+    public OrderEvent toEvent(Order order, OrderEventType eventType) {
+        OrderEvent orderEvent = new OrderEvent();
+        orderEvent.setEventId(idGenerator.nextId());
+        orderEvent.setEventType(eventType);
+        orderEvent.setOrderId(order.getId());
+        orderEvent.setOrderNumber(order.getOrderNumber());
+        orderEvent.setCustomerName(order.getCustomerName());
+        orderEvent.setCustomerEmail(order.getCustomerEmail());
+        orderEvent.setProductName(order.getProductName());
+        orderEvent.setQuantity(order.getQuantity());
+        orderEvent.setUnitPrice(order.getUnitPrice());
+        orderEvent.setTotalAmount(order.getTotalAmount());
+        orderEvent.setStatus(order.getStatus());
+        orderEvent.setTimestamp(LocalDateTime.now());
+        return orderEvent;
+    }
+}
@@ -0,0 +1,21 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 17.10
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Source of order numbers, selected with {@code order.number.generator}.
+ */
+public interface OrderNumberGenerator {
+
+    String nextOrderNumber();
+}
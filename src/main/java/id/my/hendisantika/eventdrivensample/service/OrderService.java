@@ -1,20 +1,33 @@
 package id.my.hendisantika.eventdrivensample.service;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import id.my.hendisantika.eventdrivensample.config.CacheConfig;
+import id.my.hendisantika.eventdrivensample.dto.OrderPage;
 import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
 import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
-import id.my.hendisantika.eventdrivensample.event.OrderEvent;
-import id.my.hendisantika.eventdrivensample.event.OrderEventPublisher;
+import id.my.hendisantika.eventdrivensample.event.OrderEventOutbox;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.logging.LogSampler;
 import id.my.hendisantika.eventdrivensample.model.Order;
 import id.my.hendisantika.eventdrivensample.model.OrderStatus;
 import id.my.hendisantika.eventdrivensample.repository.OrderRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.UUID;
+import java.util.stream.Stream;
 
 /**
  * Created by IntelliJ IDEA.
@@ -34,145 +47,211 @@ import java.util.UUID;
 public class OrderService {
 
     private final OrderRepository orderRepository;
-    private final OrderEventPublisher orderEventPublisher;
-
+    private final OrderEventOutbox orderEventOutbox;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final OrderNumberGenerator orderNumberGenerator;
+    private final OrderMapper orderMapper;
+    private final LogSampler logSampler;
+
+    private static final String TRANSITION_TIMER = "order.transitions";
+
+    /**
+     * Number of orders persisted between flushes in {@link #createOrders}. Each flush is sent as
+     * JDBC batches of {@code hibernate.jdbc.batch_size}, then the persistence context is cleared
+     * so it does not grow with the import.
+     */
+    private static final int BULK_FLUSH_INTERVAL = 1000;
+
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "create"})
     @Transactional
     public OrderResponse createOrder(OrderRequest orderRequest) {
-        Order order = new Order();
-        order.setOrderNumber(generateOrderNumber());
-        order.setCustomerName(orderRequest.getCustomerName());
-        order.setCustomerEmail(orderRequest.getCustomerEmail());
-        order.setProductName(orderRequest.getProductName());
-        order.setQuantity(orderRequest.getQuantity());
-        order.setUnitPrice(orderRequest.getUnitPrice());
-        order.setStatus(OrderStatus.CREATED);
-
-        Order savedOrder = orderRepository.save(order);
-        log.info("Created order with number: {}", savedOrder.getOrderNumber());
+        Order savedOrder = orderRepository.save(newOrder(orderRequest));
+        long suppressed = logSampler.sample("order.created");
+        if (suppressed != LogSampler.SUPPRESSED) {
+            log.atInfo()
+                    .addKeyValue("orderNumber", savedOrder.getOrderNumber())
+                    .addKeyValue("suppressed", suppressed)
+                    .log("Created order with number: {}", savedOrder.getOrderNumber());
+        }
 
-        publishOrderEvent(savedOrder, "ORDER_CREATED");
+        publishOrderEvent(savedOrder, OrderEventType.ORDER_CREATED);
 
         return mapToResponse(savedOrder);
     }
 
+    /**
+     * Creates all orders in a single transaction. Ids come from the pooled sequence, so the order
+     * and outbox inserts are sent to the database in JDBC batches instead of one round trip per row.
+     */
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "create_bulk"})
     @Transactional
-    public OrderResponse confirmOrder(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
-
-        order.setStatus(OrderStatus.CONFIRMED);
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Confirmed order: {}", orderNumber);
-
-        publishOrderEvent(updatedOrder, "ORDER_CONFIRMED");
+    public List<OrderResponse> createOrders(List<OrderRequest> orderRequests) {
+        List<OrderResponse> responses = new ArrayList<>(orderRequests.size());
+        for (int i = 0; i < orderRequests.size(); i++) {
+            Order order = newOrder(orderRequests.get(i));
+            entityManager.persist(order);
+            publishOrderEvent(order, OrderEventType.ORDER_CREATED);
+            responses.add(mapToResponse(order));
+
+            if ((i + 1) % BULK_FLUSH_INTERVAL == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        log.info("Created {} orders", responses.size());
+        return responses;
+    }
 
-        return mapToResponse(updatedOrder);
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "confirm"})
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_BY_NUMBER, key = "#orderNumber")
+    public OrderResponse confirmOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.CONFIRM);
     }
 
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "ship"})
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_BY_NUMBER, key = "#orderNumber")
     public OrderResponse shipOrder(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
-
-        if (order.getStatus() != OrderStatus.CONFIRMED) {
-            throw new RuntimeException("Order must be confirmed before shipping: " + orderNumber);
-        }
-
-        order.setStatus(OrderStatus.SHIPPED);
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Shipped order: {}", orderNumber);
-
-        publishOrderEvent(updatedOrder, "ORDER_SHIPPED");
-
-        return mapToResponse(updatedOrder);
+        return applyTransition(orderNumber, OrderTransition.SHIP);
     }
 
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "deliver"})
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_BY_NUMBER, key = "#orderNumber")
     public OrderResponse deliverOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.DELIVER);
+    }
+
+    @Timed(value = TRANSITION_TIMER, extraTags = {"transition", "cancel"})
+    @Transactional
+    @CacheEvict(cacheNames = CacheConfig.ORDERS_BY_NUMBER, key = "#orderNumber")
+    public OrderResponse cancelOrder(String orderNumber) {
+        return applyTransition(orderNumber, OrderTransition.CANCEL);
+    }
+
+    /**
+     * Read-through cached lookup. Entries are evicted by local transitions and by
+     * {@link id.my.hendisantika.eventdrivensample.event.OrderCacheInvalidationListener}
+     * for changes made on other nodes.
+     */
+    @Cacheable(cacheNames = CacheConfig.ORDERS_BY_NUMBER, key = "#orderNumber")
+    @Transactional(readOnly = true)
+    public OrderResponse getOrderByNumber(String orderNumber) {
         Order order = orderRepository.findByOrderNumber(orderNumber)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
+        return mapToResponse(order);
+    }
 
-        if (order.getStatus() != OrderStatus.SHIPPED) {
-            throw new RuntimeException("Order must be shipped before delivery: " + orderNumber);
+    /**
+     * Returns up to {@code limit} of the customer's orders, newest first, starting before {@code cursor}.
+     * Orders are read as DTOs straight from the query, so no entities are loaded or dirty-checked.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage getOrdersByCustomerEmail(String customerEmail, String cursor, int limit) {
+        List<OrderResponse> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findHistoryFirstPage(customerEmail, Limit.of(limit));
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findHistoryPageBefore(customerEmail, position.createdAt(), position.id(),
+                    Limit.of(limit));
         }
 
-        order.setStatus(OrderStatus.DELIVERED);
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Delivered order: {}", orderNumber);
+        String nextCursor = null;
+        if (orders.size() == limit) {
+            OrderResponse last = orders.get(orders.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderPage(orders, nextCursor);
+    }
 
-        publishOrderEvent(updatedOrder, "ORDER_DELIVERED");
+    /**
+     * Returns up to {@code limit} orders in {@code (createdAt, id)} order, starting after {@code cursor}.
+     */
+    @Transactional(readOnly = true)
+    public OrderPage getOrdersPage(String cursor, int limit) {
+        List<Order> orders;
+        if (cursor == null || cursor.isBlank()) {
+            orders = orderRepository.findFirstPage(Limit.of(limit));
+        } else {
+            OrderCursor position = OrderCursor.decode(cursor);
+            orders = orderRepository.findPageAfter(position.createdAt(), position.id(), Limit.of(limit));
+        }
 
-        return mapToResponse(updatedOrder);
+        String nextCursor = null;
+        if (orders.size() == limit) {
+            Order last = orders.get(orders.size() - 1);
+            nextCursor = new OrderCursor(last.getCreatedAt(), last.getId()).encode();
+        }
+        return new OrderPage(orders.stream().map(this::mapToResponse).toList(), nextCursor);
     }
 
-    @Transactional
-    public OrderResponse cancelOrder(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
-                .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
-
-        if (order.getStatus() == OrderStatus.DELIVERED) {
-            throw new RuntimeException("Cannot cancel delivered order: " + orderNumber);
+    /**
+     * Writes every order to {@code outputStream} as newline-delimited JSON. Rows are pulled through a
+     * database cursor, so memory use does not grow with the size of the table.
+     */
+    @Transactional(readOnly = true)
+    public long exportOrders(OutputStream outputStream) throws IOException {
+        long exported = 0;
+        try (Stream<OrderResponse> orders = orderRepository.streamAllAsResponses();
+             SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(outputStream)) {
+            for (OrderResponse order : (Iterable<OrderResponse>) orders::iterator) {
+                writer.write(order);
+                exported++;
+            }
         }
+        log.info("Exported {} orders", exported);
+        return exported;
+    }
 
-        order.setStatus(OrderStatus.CANCELLED);
-        Order updatedOrder = orderRepository.save(order);
-        log.info("Cancelled order: {}", orderNumber);
+    /**
+     * Applies a status change with one conditional {@code UPDATE ... RETURNING}, so concurrent
+     * transitions of the same order cannot both pass the guard. The status is only read again when
+     * the update matched nothing, to tell a missing order from one in the wrong status.
+     */
+    private OrderResponse applyTransition(String orderNumber, OrderTransition transition) {
+        Order updatedOrder = orderRepository.updateStatus(orderNumber, transition.getSourceStatusNames(),
+                        transition.getTargetStatus().name(), LocalDateTime.now())
+                .orElseThrow(() -> rejectTransition(orderNumber, transition));
+        long suppressed = logSampler.sample("order.transition");
+        if (suppressed != LogSampler.SUPPRESSED) {
+            log.atInfo()
+                    .addKeyValue("orderNumber", orderNumber)
+                    .addKeyValue("transition", transition.getVerb())
+                    .addKeyValue("suppressed", suppressed)
+                    .log("Applied {} to order: {}", transition.getVerb(), orderNumber);
+        }
 
-        publishOrderEvent(updatedOrder, "ORDER_CANCELLED");
+        publishOrderEvent(updatedOrder, transition.getEventType());
 
         return mapToResponse(updatedOrder);
     }
 
-    public OrderResponse getOrderByNumber(String orderNumber) {
-        Order order = orderRepository.findByOrderNumber(orderNumber)
+    private RuntimeException rejectTransition(String orderNumber, OrderTransition transition) {
+        OrderStatus current = orderRepository.findStatusByOrderNumber(orderNumber)
                 .orElseThrow(() -> new RuntimeException("Order not found: " + orderNumber));
-        return mapToResponse(order);
+        return transition.rejection(orderNumber, current);
     }
 
-    public List<OrderResponse> getOrdersByCustomerEmail(String customerEmail) {
-        List<Order> orders = orderRepository.findByCustomerEmail(customerEmail);
-        return orders.stream().map(this::mapToResponse).toList();
-    }
-
-    public List<OrderResponse> getAllOrders() {
-        List<Order> orders = orderRepository.findAll();
-        return orders.stream().map(this::mapToResponse).toList();
+    private Order newOrder(OrderRequest orderRequest) {
+        Order order = new Order();
+        order.setOrderNumber(orderNumberGenerator.nextOrderNumber());
+        order.setCustomerName(orderRequest.getCustomerName());
+        order.setCustomerEmail(orderRequest.getCustomerEmail());
+        order.setProductName(orderRequest.getProductName());
+        order.setQuantity(orderRequest.getQuantity());
+        order.setUnitPrice(orderRequest.getUnitPrice());
+        order.setStatus(OrderStatus.CREATED);
+        return order;
     }
 
-    private void publishOrderEvent(Order order, String eventType) {
-        OrderEvent orderEvent = new OrderEvent();
-        orderEvent.setEventType(eventType);
-        orderEvent.setOrderId(order.getId());
-        orderEvent.setOrderNumber(order.getOrderNumber());
-        orderEvent.setCustomerName(order.getCustomerName());
-        orderEvent.setCustomerEmail(order.getCustomerEmail());
-        orderEvent.setProductName(order.getProductName());
-        orderEvent.setQuantity(order.getQuantity());
-        orderEvent.setUnitPrice(order.getUnitPrice());
-        orderEvent.setTotalAmount(order.getTotalAmount());
-        orderEvent.setStatus(order.getStatus());
-        orderEvent.setTimestamp(LocalDateTime.now());
-
-        orderEventPublisher.publishOrderEvent(orderEvent);
+    private void publishOrderEvent(Order order, OrderEventType eventType) {
+        orderEventOutbox.enqueue(orderMapper.toEvent(order, eventType));
     }
 
     private OrderResponse mapToResponse(Order order) {
-        return new OrderResponse(
-                order.getId(),
-                order.getOrderNumber(),
-                order.getCustomerName(),
-                order.getCustomerEmail(),
-                order.getProductName(),
-                order.getQuantity(),
-                order.getUnitPrice(),
-                order.getTotalAmount(),
-                order.getStatus(),
-                order.getCreatedAt(),
-                order.getUpdatedAt()
-        );
-    }
-
-    private String generateOrderNumber() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return orderMapper.toResponse(order);
     }
-}
\ No newline at end of file
+}
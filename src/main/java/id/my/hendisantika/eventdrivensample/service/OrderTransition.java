@@ -0,0 +1,86 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 19.12
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * The order state machine. Each transition names its target status, the event it publishes and
+ * the statuses it may start from. The guard itself runs in the database as a conditional update
+ * on {@link #getSourceStatusNames()}; {@link #isAllowedFrom(OrderStatus)} is only consulted after
+ * that update matched nothing, to explain why.
+ */
+public enum OrderTransition {
+    CONFIRM("confirm", OrderStatus.CONFIRMED, OrderEventType.ORDER_CONFIRMED,
+            OrderStatus.CREATED),
+    SHIP("ship", OrderStatus.SHIPPED, OrderEventType.ORDER_SHIPPED,
+            OrderStatus.CONFIRMED),
+    DELIVER("deliver", OrderStatus.DELIVERED, OrderEventType.ORDER_DELIVERED,
+            OrderStatus.SHIPPED),
+    CANCEL("cancel", OrderStatus.CANCELLED, OrderEventType.ORDER_CANCELLED,
+            OrderStatus.CREATED, OrderStatus.CONFIRMED, OrderStatus.PROCESSING, OrderStatus.SHIPPED);
+
+    private final String verb;
+    private final OrderStatus targetStatus;
+    private final OrderEventType eventType;
+    private final boolean[] allowedFrom = new boolean[OrderStatus.values().length];
+    private final List<String> sourceStatusNames;
+
+    OrderTransition(String verb, OrderStatus targetStatus, OrderEventType eventType, OrderStatus... sourceStatuses) {
+        this.verb = verb;
+        this.targetStatus = targetStatus;
+        this.eventType = eventType;
+        for (OrderStatus sourceStatus : sourceStatuses) {
+            allowedFrom[sourceStatus.ordinal()] = true;
+        }
+        this.sourceStatusNames = Arrays.stream(sourceStatuses).map(OrderStatus::name).toList();
+    }
+
+    public boolean isAllowedFrom(OrderStatus status) {
+        return allowedFrom[status.ordinal()];
+    }
+
+    /**
+     * Explains a conditional update that matched nothing although the order exists in {@code current}.
+     * A permitted {@code current} means the order was in another status when the update ran.
+     */
+    public RuntimeException rejection(String orderNumber, OrderStatus current) {
+        if (isAllowedFrom(current)) {
+            return new RuntimeException("Order changed concurrently, cannot " + verb + " it now: " + orderNumber);
+        }
+        return new RuntimeException("Cannot " + verb + " order in status " + current + ": " + orderNumber);
+    }
+
+    public OrderStatus getTargetStatus() {
+        return targetStatus;
+    }
+
+    public OrderEventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Source statuses by name, as stored in {@code orders.status}, for the conditional update.
+     */
+    public List<String> getSourceStatusNames() {
+        return sourceStatusNames;
+    }
+
+    public String getVerb() {
+        return verb;
+    }
+}
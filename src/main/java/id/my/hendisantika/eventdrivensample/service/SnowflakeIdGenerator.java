@@ -0,0 +1,72 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 17.02
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Lock-free generator of time-ordered 63-bit ids: 41 bits of milliseconds since 2025-01-01,
+ * a 12-bit per-millisecond sequence and a 10-bit node id.
+ * <p>
+ * The timestamp and sequence share one {@link AtomicLong}, advanced by CAS to
+ * {@code max(previous + 1, now)}. Ids are therefore strictly increasing on a node even if the
+ * wall clock steps backwards. When more than 4096 ids are drawn in one millisecond, the
+ * generator borrows from the next millisecond instead of spinning. Ids never collide across nodes
+ * as long as every instance has a distinct {@code order.id.node-id}.
+ */
+@Component
+public class SnowflakeIdGenerator {
+
+    static final long EPOCH_MILLIS = Instant.parse("2025-01-01T00:00:00Z").toEpochMilli();
+    static final int SEQUENCE_BITS = 12;
+    static final int NODE_BITS = 10;
+    static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private final long nodeId;
+    private final Clock clock;
+    private final AtomicLong lastTick = new AtomicLong();
+
+    @Autowired
+    public SnowflakeIdGenerator(@Value("${order.id.node-id:0}") long nodeId) {
+        this(nodeId, Clock.systemUTC());
+    }
+
+    SnowflakeIdGenerator(long nodeId, Clock clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.id.node-id must be between 0 and " + MAX_NODE_ID + ": " + nodeId);
+        }
+        this.nodeId = nodeId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        long now = (clock.millis() - EPOCH_MILLIS) << SEQUENCE_BITS;
+        long previous;
+        long next;
+        do {
+            previous = lastTick.get();
+            next = Math.max(previous + 1, now);
+        } while (!lastTick.compareAndSet(previous, next));
+        return next << NODE_BITS | nodeId;
+    }
+
+    public long getNodeId() {
+        return nodeId;
+    }
+}
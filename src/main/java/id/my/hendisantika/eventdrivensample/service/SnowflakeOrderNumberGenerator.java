@@ -0,0 +1,54 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 17.14
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * Formats a {@link SnowflakeIdGenerator} id as {@code ORD-} followed by 13 Crockford base32
+ * characters. The width is fixed, so order numbers sort in creation order and new rows are
+ * appended to the right-hand edge of the unique index rather than scattered across it.
+ */
+@Component
+@ConditionalOnProperty(name = "order.number.generator", havingValue = "snowflake", matchIfMissing = true)
+@RequiredArgsConstructor
+public class SnowflakeOrderNumberGenerator implements OrderNumberGenerator {
+
+    private static final byte[] ALPHABET = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".getBytes(StandardCharsets.US_ASCII);
+    private static final int PREFIX_LENGTH = 4;
+    private static final int ENCODED_LENGTH = 13;
+
+    private final SnowflakeIdGenerator idGenerator;
+
+    @Override
+    public String nextOrderNumber() {
+        return format(idGenerator.nextId());
+    }
+
+    public static String format(long id) {
+        byte[] chars = new byte[PREFIX_LENGTH + ENCODED_LENGTH];
+        chars[0] = 'O';
+        chars[1] = 'R';
+        chars[2] = 'D';
+        chars[3] = '-';
+        for (int i = chars.length - 1; i >= PREFIX_LENGTH; i--) {
+            chars[i] = ALPHABET[(int) (id & 0x1F)];
+            id >>>= 5;
+        }
+        return new String(chars, StandardCharsets.ISO_8859_1);
+    }
+}
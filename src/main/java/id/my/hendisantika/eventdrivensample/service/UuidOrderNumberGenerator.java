@@ -0,0 +1,32 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Created by IntelliJ IDEA.
+ * Project : spring-boot-event-driven-sample
+ * User: hendisantika
+ * Link: s.id/hendisantika
+ * Email: hendisantika@yahoo.co.id
+ * Telegram : @hendisantika34
+ * Date: 17/10/26
+ * Time: 17.18
+ * To change this template use File | Settings | File Templates.
+ */
+
+/**
+ * The original random 8-character order numbers. Only 32 bits are random, so collisions become
+ * likely at volume; kept for deployments that depend on the old format.
+ */
+@Component
+@ConditionalOnProperty(name = "order.number.generator", havingValue = "uuid")
+public class UuidOrderNumberGenerator implements OrderNumberGenerator {
+
+    @Override
+    public String nextOrderNumber() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,12 @@
+-- Transactional outbox. Runs after V1 even on a database baselined at V1, and before V3 moves its id
+-- to a sequence. IF NOT EXISTS covers databases where Hibernate already created the table.
+
+CREATE TABLE IF NOT EXISTS order_outbox
+(
+    id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    topic       VARCHAR(255) NOT NULL,
+    message_key VARCHAR(255) NOT NULL,
+    event_type  VARCHAR(255) NOT NULL,
+    payload     BYTEA        NOT NULL,
+    created_at  TIMESTAMP(6) NOT NULL
+);
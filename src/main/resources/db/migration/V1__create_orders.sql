@@ -0,0 +1,16 @@
+-- The orders table as it existed before Flyway; an existing database is baselined at this version.
+
+CREATE TABLE orders
+(
+    id             BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    order_number   VARCHAR(255)   NOT NULL,
+    customer_name  VARCHAR(255)   NOT NULL,
+    customer_email VARCHAR(255)   NOT NULL,
+    product_name   VARCHAR(255)   NOT NULL,
+    quantity       INTEGER        NOT NULL,
+    unit_price     NUMERIC(10, 2) NOT NULL,
+    total_amount   NUMERIC(10, 2) NOT NULL,
+    status         VARCHAR(255)   NOT NULL,
+    created_at     TIMESTAMP(6)   NOT NULL,
+    updated_at     TIMESTAMP(6)
+);
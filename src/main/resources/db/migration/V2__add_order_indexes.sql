@@ -0,0 +1,11 @@
+-- findByOrderNumber: point lookup, and order numbers must never collide
+CREATE UNIQUE INDEX ux_orders_order_number ON orders (order_number);
+
+-- findByCustomerEmail
+CREATE INDEX ix_orders_customer_email ON orders (customer_email);
+
+-- findByStatus / countByStatus (index-only count per status)
+CREATE INDEX ix_orders_status_created_at ON orders (status, created_at);
+
+-- findOrdersByDateRange and keyset pagination on (created_at, id)
+CREATE INDEX ix_orders_created_at_id ON orders (created_at, id);
@@ -0,0 +1,12 @@
+-- IDENTITY columns force Hibernate to insert row by row; switch to pooled sequences
+-- (allocationSize = 50) so inserts can be sent as JDBC batches.
+-- Hibernate's pooled optimizer treats each value as the top of a block of 50,
+-- so the sequences are positioned at the current maximum id.
+
+ALTER TABLE orders ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE orders_seq INCREMENT BY 50;
+SELECT setval('orders_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM orders;
+
+ALTER TABLE order_outbox ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE order_outbox_seq INCREMENT BY 50;
+SELECT setval('order_outbox_seq', GREATEST(COALESCE(MAX(id), 0), 1)) FROM order_outbox;
@@ -0,0 +1,3 @@
+-- Optimistic locking column for Order (@Version). Conditional status updates bump it as well.
+
+ALTER TABLE orders ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,6 @@
+-- Customer order history: newest first, keyset-paginated on (created_at, id) within one customer.
+-- A backward scan of this index returns a page in order without sorting the customer's orders,
+-- and the customer_email prefix still serves plain lookups by customer.
+
+DROP INDEX IF EXISTS ix_orders_customer_email;
+CREATE INDEX ix_orders_customer_email_created_at_id ON orders (customer_email, created_at, id);
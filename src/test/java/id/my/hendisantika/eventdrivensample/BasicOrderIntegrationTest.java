@@ -1,5 +1,6 @@
 package id.my.hendisantika.eventdrivensample;
 
+import id.my.hendisantika.eventdrivensample.dto.OrderPage;
 import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
 import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
 import id.my.hendisantika.eventdrivensample.model.Order;
@@ -42,8 +43,10 @@ class BasicOrderIntegrationTest {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
         registry.add("spring.kafka.bootstrap-servers", () -> "localhost:9999");
+        // No broker here, so don't wait at startup trying to create the retry topics
+        registry.add("spring.kafka.admin.auto-create", () -> "false");
         registry.add("logging.level.id.my.hendisantika.eventdrivensample", () -> "INFO");
     }
 
@@ -165,7 +168,7 @@ class BasicOrderIntegrationTest {
         orderService.createOrder(request2);
 
         // When
-        List<OrderResponse> orders = orderService.getOrdersByCustomerEmail(customerEmail);
+        List<OrderResponse> orders = orderService.getOrdersByCustomerEmail(customerEmail, null, 100).getOrders();
 
         // Then
         assertThat(orders).hasSize(2);
@@ -173,6 +176,40 @@ class BasicOrderIntegrationTest {
         assertThat(orders.get(1).getCustomerEmail()).isEqualTo(customerEmail);
     }
 
+    @Test
+    void shouldPageCustomerOrderHistoryNewestFirst() {
+        // Given - three orders for one customer and one for another
+        String customerEmail = "history@example.com";
+        for (int i = 1; i <= 3; i++) {
+            OrderRequest request = new OrderRequest();
+            request.setCustomerName("History");
+            request.setCustomerEmail(customerEmail);
+            request.setProductName("Product " + i);
+            request.setQuantity(1);
+            request.setUnitPrice(new BigDecimal("10.00"));
+            orderService.createOrder(request);
+        }
+        OrderRequest other = new OrderRequest();
+        other.setCustomerName("Other");
+        other.setCustomerEmail("other@example.com");
+        other.setProductName("Product 4");
+        other.setQuantity(1);
+        other.setUnitPrice(new BigDecimal("10.00"));
+        orderService.createOrder(other);
+
+        // When
+        OrderPage firstPage = orderService.getOrdersByCustomerEmail(customerEmail, null, 2);
+        OrderPage secondPage = orderService.getOrdersByCustomerEmail(customerEmail, firstPage.getNextCursor(), 2);
+
+        // Then - newest first, no overlap, and no cursor after the last page
+        assertThat(firstPage.getOrders()).extracting(OrderResponse::getProductName)
+                .containsExactly("Product 3", "Product 2");
+        assertThat(firstPage.getNextCursor()).isNotNull();
+        assertThat(secondPage.getOrders()).extracting(OrderResponse::getProductName)
+                .containsExactly("Product 1");
+        assertThat(secondPage.getNextCursor()).isNull();
+    }
+
     @Test
     void shouldGetAllOrders() {
         // Given - Create multiple orders
@@ -193,7 +230,7 @@ class BasicOrderIntegrationTest {
         orderService.createOrder(request2);
 
         // When
-        List<OrderResponse> orders = orderService.getAllOrders();
+        List<OrderResponse> orders = orderService.getOrdersPage(null, 100).getOrders();
 
         // Then
         assertThat(orders).hasSize(2);
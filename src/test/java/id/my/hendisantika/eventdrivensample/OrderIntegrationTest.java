@@ -1,19 +1,36 @@
 package id.my.hendisantika.eventdrivensample;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import id.my.hendisantika.eventdrivensample.config.CacheConfig;
+import id.my.hendisantika.eventdrivensample.dto.BatchOrderResult;
 import id.my.hendisantika.eventdrivensample.dto.OrderRequest;
 import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventPublisher;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
 import id.my.hendisantika.eventdrivensample.model.Order;
 import id.my.hendisantika.eventdrivensample.model.OrderStatus;
 import id.my.hendisantika.eventdrivensample.repository.OrderRepository;
+import id.my.hendisantika.eventdrivensample.repository.OutboxEventRepository;
+import id.my.hendisantika.eventdrivensample.service.OrderService;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.config.KafkaListenerEndpointRegistry;
+import org.springframework.kafka.test.utils.ContainerTestUtils;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.DynamicPropertyRegistry;
 import org.springframework.test.context.DynamicPropertySource;
@@ -24,7 +41,13 @@ import org.testcontainers.junit.jupiter.Testcontainers;
 import org.testcontainers.utility.DockerImageName;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -52,7 +75,7 @@ class OrderIntegrationTest {
         registry.add("spring.datasource.url", postgres::getJdbcUrl);
         registry.add("spring.datasource.username", postgres::getUsername);
         registry.add("spring.datasource.password", postgres::getPassword);
-        registry.add("spring.jpa.hibernate.ddl-auto", () -> "create-drop");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
         registry.add("spring.kafka.bootstrap-servers", kafka::getBootstrapServers);
         registry.add("logging.level.id.my.hendisantika.eventdrivensample", () -> "DEBUG");
     }
@@ -66,6 +89,30 @@ class OrderIntegrationTest {
     @Autowired
     private OrderRepository orderRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private OrderEventPublisher orderEventPublisher;
+
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+
+    @Autowired
+    private KafkaListenerEndpointRegistry kafkaListenerEndpointRegistry;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @BeforeEach
     void setUp() {
         // Clean database before each test
@@ -171,6 +218,140 @@ class OrderIntegrationTest {
         assertThat(response.getBody()).hasSize(2);
     }
 
+    @Test
+    void shouldCreateOrdersInBatch() {
+        // Given - two valid orders and one with an invalid quantity
+        OrderRequest[] batch = {
+                createOrderRequest("Batch User", "batch@example.com", "Product 1", 1, new BigDecimal("10.00")),
+                createOrderRequest("Batch User", "batch@example.com", "Product 2", 0, new BigDecimal("20.00")),
+                createOrderRequest("Batch User", "batch@example.com", "Product 3", 3, new BigDecimal("30.00"))
+        };
+
+        // When
+        ResponseEntity<BatchOrderResult[]> response = restTemplate.postForEntity(
+                getBaseUrl() + "/batch", batch, BatchOrderResult[].class);
+
+        // Then - per-item results in request order
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).hasSize(3);
+        assertThat(response.getBody()[0].isSuccess()).isTrue();
+        assertThat(response.getBody()[1].isSuccess()).isFalse();
+        assertThat(response.getBody()[1].getError()).contains("quantity");
+        assertThat(response.getBody()[2].isSuccess()).isTrue();
+        assertThat(response.getBody()[2].getOrder().getTotalAmount()).isEqualByComparingTo("90.00");
+
+        // Verify database persistence
+        ResponseEntity<OrderResponse[]> persisted = restTemplate.getForEntity(
+                getBaseUrl() + "/customer/batch@example.com", OrderResponse[].class);
+        assertThat(persisted.getBody()).extracting(OrderResponse::getProductName)
+                .containsExactlyInAnyOrder("Product 1", "Product 3");
+    }
+
+    @Test
+    void shouldRejectUnreadableBatchItemsIndividually() {
+        // Given - the second item has a quantity that is not a number
+        String batch = """
+                [{"customerName":"Stream User","customerEmail":"stream@example.com","productName":"A","quantity":1,"unitPrice":10.00},
+                 {"customerName":"Stream User","customerEmail":"stream@example.com","productName":"B","quantity":"many","unitPrice":10.00},
+                 {"customerName":"Stream User","customerEmail":"stream@example.com","productName":"C","quantity":2,"unitPrice":10.00}]
+                """;
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+
+        // When
+        ResponseEntity<BatchOrderResult[]> response = restTemplate.postForEntity(
+                getBaseUrl() + "/batch", new HttpEntity<>(batch, headers), BatchOrderResult[].class);
+        ResponseEntity<String> notAnArray = restTemplate.postForEntity(
+                getBaseUrl() + "/batch", new HttpEntity<>("{}", headers), String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getBody()).extracting(BatchOrderResult::isSuccess).containsExactly(true, false, true);
+        assertThat(response.getBody()[1].getError()).startsWith("Malformed order");
+        assertThat(notAnArray.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldAssignDistinctIdsAcrossBulkFlushes() {
+        // Given - more orders than one flush interval, next to orders created one at a time
+        createOrderForCustomer("Single Product", "single@example.com");
+        List<OrderRequest> requests = new ArrayList<>();
+        for (int i = 1; i <= 2500; i++) {
+            requests.add(createOrderRequest("Bulk User", "bulk@example.com", "Product " + i, 1, new BigDecimal("1.00")));
+        }
+
+        // When
+        List<OrderResponse> created = orderService.createOrders(requests);
+        createOrderForCustomer("Single Product", "single@example.com");
+
+        // Then - every id from the pooled sequence is used once, and each response names its own row
+        List<Long> ids = created.stream().map(OrderResponse::getId).toList();
+        assertThat(ids).hasSize(2500).doesNotHaveNullElement().doesNotHaveDuplicates();
+        assertThat(orderRepository.count()).isEqualTo(2502);
+        assertThat(orderRepository.findAll()).extracting(Order::getId).doesNotHaveDuplicates().containsAll(ids);
+        assertThat(orderRepository.findById(ids.get(2499)))
+                .hasValueSatisfying(order -> assertThat(order.getProductName()).isEqualTo("Product 2500"));
+    }
+
+    @Test
+    void shouldPageThroughOrdersWithEqualCreatedAt() {
+        // Given - five orders created at the same instant, so only the id tells them apart
+        for (int i = 1; i <= 5; i++) {
+            createOrderForCustomer("Product " + i, "paging@example.com");
+        }
+        jdbcTemplate.update("UPDATE orders SET created_at = ?", LocalDateTime.of(2026, 10, 17, 12, 0));
+
+        // When - read in pages of two, following the next-page cursor
+        List<Long> ids = new ArrayList<>();
+        int pages = 0;
+        String cursor = null;
+        do {
+            ResponseEntity<OrderResponse[]> response = restTemplate.getForEntity(
+                    getBaseUrl() + "?limit=2" + (cursor == null ? "" : "&cursor=" + cursor), OrderResponse[].class);
+            assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+            Arrays.stream(response.getBody()).map(OrderResponse::getId).forEach(ids::add);
+            cursor = response.getHeaders().getFirst("X-Next-Cursor");
+            pages++;
+        } while (cursor != null);
+
+        // Then - every order exactly once, in id order
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSorted();
+    }
+
+    @Test
+    void shouldRejectMalformedCursor() {
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(getBaseUrl() + "?cursor=not-a-cursor", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST);
+    }
+
+    @Test
+    void shouldExportEveryOrderAsOneLineInCreationOrder() throws Exception {
+        // Given
+        List<String> orderNumbers = new ArrayList<>();
+        for (int i = 1; i <= 3; i++) {
+            OrderRequest request = createOrderRequest("Export User", "export@example.com", "Product " + i, i, new BigDecimal("10.00"));
+            orderNumbers.add(restTemplate.postForEntity(getBaseUrl(), request, OrderResponse.class).getBody().getOrderNumber());
+        }
+
+        // When
+        ResponseEntity<String> response = restTemplate.getForEntity(getBaseUrl() + "/export", String.class);
+
+        // Then
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.OK);
+        assertThat(response.getHeaders().getContentType()).isEqualTo(MediaType.APPLICATION_NDJSON);
+        List<String> lines = response.getBody().lines().filter(line -> !line.isBlank()).toList();
+        assertThat(lines).hasSize(3);
+        List<String> exported = new ArrayList<>();
+        for (String line : lines) {
+            exported.add(objectMapper.readValue(line, OrderResponse.class).getOrderNumber());
+        }
+        assertThat(exported).containsExactlyElementsOf(orderNumbers);
+    }
+
     @Test
     void shouldReturnNotFoundForNonExistentOrder() {
         // When
@@ -253,6 +434,69 @@ class OrderIntegrationTest {
         assertThat(response.getBody().getProductName()).isEqualTo("Specific Product");
     }
 
+    @Test
+    void shouldRecordTransitionPublishAndConsumeMetrics() throws Exception {
+        // Given
+        String orderNumber = createOrder("Metrics User", "metrics@example.com");
+
+        // When
+        testOrderStatusTransition(orderNumber, "confirm", OrderStatus.CONFIRMED);
+        testOrderStatusTransition(orderNumber, "ship", OrderStatus.SHIPPED);
+
+        // Then - one timer per transition, and the events are acknowledged by the broker and consumed
+        assertThat(transitionCount("create")).isPositive();
+        assertThat(transitionCount("confirm")).isPositive();
+        assertThat(transitionCount("ship")).isPositive();
+        awaitCondition(() -> meterRegistry.get("order.events.consume").tag("outcome", "success").timer().count() > 0);
+        assertThat(meterRegistry.get("order.events.publish").tag("outcome", "success").timer().count()).isPositive();
+        assertThat(meterRegistry.get("order.events.consume").tag("outcome", "success").timer().count()).isPositive();
+
+        // And the same series are scraped by Prometheus
+        String scrape = restTemplate.getForObject("http://localhost:" + port + "/actuator/prometheus", String.class);
+        assertThat(scrape)
+                .containsPattern("order_transitions_seconds_count\\{[^}]*transition=\"confirm\"")
+                .containsPattern("order_events_publish_seconds_count\\{[^}]*outcome=\"success\"")
+                .containsPattern("order_events_consume_seconds_count\\{[^}]*outcome=\"success\"");
+    }
+
+    @Test
+    void shouldEvictCachedOrderOnTransition() {
+        // Given - the order is cached
+        String orderNumber = createOrder("Cache User", "cache@example.com");
+        orderService.getOrderByNumber(orderNumber);
+        assertThat(ordersByNumber().get(orderNumber)).isNotNull();
+
+        // When
+        orderService.confirmOrder(orderNumber);
+
+        // Then
+        assertThat(ordersByNumber().get(orderNumber)).isNull();
+        assertThat(orderService.getOrderByNumber(orderNumber).getStatus()).isEqualTo(OrderStatus.CONFIRMED);
+    }
+
+    @Test
+    void shouldEvictCachedOrderWhenEventIsConsumed() throws Exception {
+        // Given - the order is cached, its own events are relayed, and the invalidation listener is assigned
+        String orderNumber = createOrder("Remote User", "remote@example.com");
+        ContainerTestUtils.waitForAssignment(kafkaListenerEndpointRegistry.getListenerContainer("order-cache-invalidation"), 1);
+        awaitCondition(() -> outboxEventRepository.count() == 0);
+        orderService.getOrderByNumber(orderNumber);
+        assertThat(ordersByNumber().get(orderNumber)).isNotNull();
+
+        // When - another node changes the order, so only its event reaches this node
+        OrderEvent event = new OrderEvent();
+        event.setEventId(System.nanoTime());
+        event.setEventType(OrderEventType.ORDER_CONFIRMED);
+        event.setOrderNumber(orderNumber);
+        event.setStatus(OrderStatus.CONFIRMED);
+        event.setTimestamp(LocalDateTime.now());
+        orderEventPublisher.publishOrderEvent(event).get(10, TimeUnit.SECONDS);
+
+        // Then
+        awaitCondition(() -> ordersByNumber().get(orderNumber) == null);
+        assertThat(ordersByNumber().get(orderNumber)).isNull();
+    }
+
     private void testOrderStatusTransition(String orderNumber, String action, OrderStatus expectedStatus) {
         // When
         ResponseEntity<OrderResponse> response = restTemplate.exchange(
@@ -268,6 +512,26 @@ class OrderIntegrationTest {
         assertThat(updatedOrder.get().getStatus()).isEqualTo(expectedStatus);
     }
 
+    private String createOrder(String customerName, String customerEmail) {
+        OrderRequest request = createOrderRequest(customerName, customerEmail, "Cached Product", 1, new BigDecimal("10.00"));
+        return restTemplate.postForEntity(getBaseUrl(), request, OrderResponse.class).getBody().getOrderNumber();
+    }
+
+    private long transitionCount(String transition) {
+        return meterRegistry.get("order.transitions").tag("transition", transition).timer().count();
+    }
+
+    private Cache ordersByNumber() {
+        return cacheManager.getCache(CacheConfig.ORDERS_BY_NUMBER);
+    }
+
+    private static void awaitCondition(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+            Thread.sleep(100);
+        }
+    }
+
     private void createOrderForCustomer(String productName, String customerEmail) {
         OrderRequest request = createOrderRequest("Customer", customerEmail, productName, 1, new BigDecimal("100.00"));
         restTemplate.postForEntity(getBaseUrl(), request, OrderResponse.class);
@@ -0,0 +1,109 @@
+package id.my.hendisantika.eventdrivensample.config;
+
+import id.my.hendisantika.eventdrivensample.event.FailedOrderEventForwarder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.MockConsumer;
+import org.apache.kafka.clients.consumer.OffsetResetStrategy;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.kafka.ConcurrentKafkaListenerContainerFactoryConfigurer;
+import org.springframework.kafka.KafkaException;
+import org.springframework.kafka.config.ConcurrentKafkaListenerContainerFactory;
+import org.springframework.kafka.core.ConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.listener.ContainerProperties;
+import org.springframework.kafka.listener.DefaultErrorHandler;
+import org.springframework.kafka.listener.MessageListenerContainer;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.catchException;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Listener container factory tests: the batch size cap, and that a record whose forward fails stays
+ * on {@code order-events} instead of being skipped.
+ */
+class KafkaConsumerConfigTest {
+
+    private static final TopicPartition PARTITION = new TopicPartition("order-events", 0);
+
+    @Test
+    void shouldCapBatchListenerPollsAtMaxBatchSize() {
+        // Given
+        OrderConsumerProperties properties = new OrderConsumerProperties();
+        properties.setMaxBatchSize(7);
+
+        // When
+        ConcurrentKafkaListenerContainerFactory<Object, Object> factory = new KafkaConsumerConfig()
+                .batchKafkaListenerContainerFactory(mock(ConcurrentKafkaListenerContainerFactoryConfigurer.class),
+                        mock(ConsumerFactory.class), properties);
+
+        // Then - one poll of at most 7 records is handed over and acknowledged as a whole
+        assertThat(factory.isBatchListener()).isTrue();
+        ContainerProperties containerProperties = factory.getContainerProperties();
+        assertThat(containerProperties.getAckMode()).isEqualTo(ContainerProperties.AckMode.MANUAL);
+        assertThat(containerProperties.getKafkaConsumerProperties().getProperty(ConsumerConfig.MAX_POLL_RECORDS_CONFIG))
+                .isEqualTo("7");
+    }
+
+    @Test
+    void shouldRedeliverRecordWhoseForwardFailsWithoutCommittingIt() {
+        // Given - the broker rejects every forwarded copy
+        OrderConsumerProperties properties = new OrderConsumerProperties();
+        properties.getRetry().setForwardRetryDelay(Duration.ofMillis(1));
+        properties.getRetry().setForwardRetryMaxDelay(Duration.ofMillis(2));
+        FailedOrderEventForwarder forwarder = new FailedOrderEventForwarder(
+                new FailingKafkaTemplate(), properties, new SimpleMeterRegistry());
+        DefaultErrorHandler errorHandler = KafkaConsumerConfig.forwardFailureErrorHandler(properties.getRetry());
+
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>(PARTITION.topic(), PARTITION.partition(), 7L,
+                "ORD-1", new byte[]{1});
+        MockConsumer<String, byte[]> consumer = new MockConsumer<>(OffsetResetStrategy.EARLIEST);
+        consumer.assign(List.of(PARTITION));
+        consumer.updateBeginningOffsets(Map.of(PARTITION, 0L));
+        consumer.seek(PARTITION, 8L);
+
+        MessageListenerContainer container = mock(MessageListenerContainer.class);
+        when(container.getContainerProperties()).thenReturn(new ContainerProperties(PARTITION.topic()));
+        when(container.isRunning()).thenReturn(true);
+
+        // When / Then - well past the ten attempts after which the default handler skips a record
+        for (int attempt = 0; attempt < 20; attempt++) {
+            Exception failure = catchException(() -> forwarder.forward(record, new IllegalStateException("boom")));
+            assertThat(failure).hasMessageContaining("Could not forward order event for order: ORD-1");
+
+            assertThatThrownBy(() -> errorHandler.handleRemaining(failure, List.<ConsumerRecord<?, ?>>of(record),
+                    consumer, container))
+                    .isInstanceOf(KafkaException.class);
+            assertThat(consumer.position(PARTITION)).isEqualTo(7L);
+            consumer.seek(PARTITION, 8L);
+        }
+        assertThat(consumer.committed(Set.of(PARTITION)).get(PARTITION)).isNull();
+    }
+
+    private static final class FailingKafkaTemplate extends KafkaTemplate<String, byte[]> {
+
+        FailingKafkaTemplate() {
+            super(new DefaultKafkaProducerFactory<>(Map.of()));
+        }
+
+        @Override
+        public CompletableFuture<SendResult<String, byte[]>> send(ProducerRecord<String, byte[]> record) {
+            return CompletableFuture.failedFuture(new TimeoutException("Broker unavailable"));
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Round-trip tests for the binary order event wire format.
+ */
+class BinaryOrderEventCodecTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private final BinaryOrderEventCodec codec = new BinaryOrderEventCodec(objectMapper);
+
+    @Test
+    void shouldRoundTripFullEvent() {
+        // Given
+        OrderEvent event = new OrderEvent(310_945_624_577_490_944L, OrderEventType.ORDER_CONFIRMED,
+                42L, "ORD-1A2B3C4D", "John Doe", "john@example.com", "Laptop", 2,
+                new BigDecimal("999.99"), new BigDecimal("1999.98"), OrderStatus.CONFIRMED,
+                LocalDateTime.of(2026, 10, 17, 9, 30, 15, 123_456_789));
+
+        // When
+        OrderEvent decoded = codec.decode(codec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void shouldRoundTripNullFields() {
+        // Given
+        OrderEvent event = new OrderEvent();
+        event.setEventType(OrderEventType.ORDER_CREATED);
+        event.setOrderNumber("ORD-1A2B3C4D");
+
+        // When
+        OrderEvent decoded = codec.decode(codec.encode(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void shouldBeSmallerThanJson() throws Exception {
+        // Given
+        OrderEvent event = new OrderEvent(310_945_624_577_490_945L, OrderEventType.ORDER_CREATED,
+                42L, "ORD-1A2B3C4D", "John Doe", "john@example.com", "Laptop", 2,
+                new BigDecimal("999.99"), new BigDecimal("1999.98"), OrderStatus.CREATED,
+                LocalDateTime.now());
+
+        // When
+        byte[] binary = codec.encode(event);
+        byte[] json = objectMapper.writeValueAsBytes(event);
+
+        // Then
+        assertThat(binary.length).isLessThan(json.length / 2);
+    }
+
+    @Test
+    void shouldDecodeLegacyJsonPayload() throws Exception {
+        // Given
+        OrderEvent event = new OrderEvent(310_945_624_577_490_946L, OrderEventType.ORDER_SHIPPED,
+                7L, "ORD-00000007", "Jane Smith", "jane@example.com", "Tablet", 1,
+                new BigDecimal("299.99"), new BigDecimal("299.99"), OrderStatus.SHIPPED,
+                LocalDateTime.of(2026, 1, 2, 3, 4, 5));
+
+        // When
+        OrderEvent decoded = codec.decode(objectMapper.writeValueAsBytes(event));
+
+        // Then
+        assertThat(decoded).isEqualTo(event);
+    }
+
+    @Test
+    void shouldDecodeSchemaV1PayloadWithoutEventId() {
+        // Given: magic, schema 1, every field null except eventType, then the event type name
+        byte[] name = "ORDER_CREATED".getBytes(StandardCharsets.UTF_8);
+        byte[] payload = new byte[5 + name.length];
+        payload[0] = BinaryOrderEventCodec.MAGIC;
+        payload[1] = BinaryOrderEventCodec.SCHEMA_V1;
+        payload[2] = (byte) 0xFE;
+        payload[3] = 0x0F;
+        payload[4] = (byte) name.length;
+        System.arraycopy(name, 0, payload, 5, name.length);
+
+        // When
+        OrderEvent decoded = codec.decode(payload);
+
+        // Then
+        assertThat(decoded.getEventType()).isEqualTo(OrderEventType.ORDER_CREATED);
+        assertThat(decoded.getEventId()).isNull();
+        assertThat(decoded.getOrderNumber()).isNull();
+    }
+
+    @Test
+    void shouldRejectUnknownStatusCode() {
+        // Given: an event with only a status, whose wire code is the last byte of the payload
+        OrderEvent event = new OrderEvent();
+        event.setStatus(OrderStatus.CANCELLED);
+        byte[] payload = codec.encode(event);
+        assertThat(payload[payload.length - 1]).isEqualTo((byte) OrderStatus.CANCELLED.getWireCode());
+
+        // When
+        payload[payload.length - 1] = 0x7F;
+
+        // Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> codec.decode(payload));
+        assertThat(e.getMessage()).contains("127");
+    }
+
+    @Test
+    void shouldRejectUnknownSchema() {
+        assertThrows(IllegalArgumentException.class, () -> codec.decode(new byte[]{0x00, 0x7F}));
+    }
+}
@@ -0,0 +1,54 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.header.Headers;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.support.KafkaHeaders;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routing and failure-header tests for {@link FailedOrderEventForwarder}.
+ */
+class FailedOrderEventForwarderTest {
+
+    @Test
+    void shouldSendPoisonRecordsStraightToTheDeadLetterTopic() {
+        // Given
+        Exception poison = new PoisonOrderEventException("Cannot decode", new IllegalArgumentException("bad"));
+        Exception transientFailure = new RuntimeException("Database unavailable");
+
+        // When / Then
+        assertThat(FailedOrderEventForwarder.destinationFor(poison))
+                .isEqualTo(OrderEventRetryListener.DEAD_LETTER_TOPIC);
+        assertThat(FailedOrderEventForwarder.destinationFor(transientFailure))
+                .isEqualTo(OrderEventRetryListener.RETRY_TOPIC);
+    }
+
+    @Test
+    void shouldDescribeTheSourceRecordAndFailureInHeaders() {
+        // Given
+        ConsumerRecord<String, byte[]> record = new ConsumerRecord<>("order-events", 2, 1234L, "ORD-1", new byte[]{1});
+        record.headers().add("trace-id", "abc".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        Headers headers = FailedOrderEventForwarder.failureHeaders(record, new IllegalStateException("boom"));
+
+        // Then
+        assertThat(headers.lastHeader("trace-id")).isNotNull();
+        assertThat(new String(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC).value(), StandardCharsets.UTF_8))
+                .isEqualTo("order-events");
+        assertThat(ByteBuffer.wrap(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_PARTITION).value()).getInt())
+                .isEqualTo(2);
+        assertThat(ByteBuffer.wrap(headers.lastHeader(KafkaHeaders.DLT_ORIGINAL_OFFSET).value()).getLong())
+                .isEqualTo(1234L);
+        assertThat(new String(headers.lastHeader(KafkaHeaders.DLT_EXCEPTION_FQCN).value(), StandardCharsets.UTF_8))
+                .isEqualTo(IllegalStateException.class.getName());
+        assertThat(new String(headers.lastHeader(KafkaHeaders.DLT_EXCEPTION_MESSAGE).value(), StandardCharsets.UTF_8))
+                .isEqualTo("boom");
+        assertThat(record.headers().lastHeader(KafkaHeaders.DLT_ORIGINAL_TOPIC)).isNull();
+    }
+}
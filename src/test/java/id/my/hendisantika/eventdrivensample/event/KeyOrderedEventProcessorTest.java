@@ -0,0 +1,120 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for per-key ordering and the batch timeout of {@link KeyOrderedEventProcessor}.
+ */
+class KeyOrderedEventProcessorTest {
+
+    private static final String TOPIC = "order-events";
+
+    private final KeyOrderedEventProcessor processor = new KeyOrderedEventProcessor(properties(Duration.ofMillis(200)));
+    private final Map<String, AtomicInteger> running = new ConcurrentHashMap<>();
+    private final AtomicBoolean overlapped = new AtomicBoolean();
+
+    @AfterEach
+    void shutDown() {
+        processor.destroy();
+    }
+
+    @Test
+    void shouldCompleteWholeBatch() {
+        // Given
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, 0, "A"), record(1, 0, "B"), record(0, 1, "A"), record(1, 1, null));
+        List<String> handled = new CopyOnWriteArrayList<>();
+
+        // When
+        Map<TopicPartition, Long> redeliverFrom = processor.process(records,
+                record -> handled.add(record.partition() + "@" + record.offset()));
+
+        // Then
+        assertThat(redeliverFrom).isEmpty();
+        assertThat(handled).containsExactlyInAnyOrder("0@0", "1@0", "0@1", "1@1");
+        assertThat(handled.indexOf("0@0")).isLessThan(handled.indexOf("0@1"));
+    }
+
+    @Test
+    void shouldStopTimedOutKeyBeforeReturningAndNeverRunItTwice() {
+        // Given - key A blocks past the batch timeout and is slow to exit once interrupted;
+        // key B lives on another partition later in the batch and finishes quickly
+        List<ConsumerRecord<String, String>> records = List.of(
+                record(0, 10, "A"), record(1, 20, "B"), record(0, 11, "A"), record(1, 21, "B"));
+        AtomicBoolean blockedHandlerExited = new AtomicBoolean();
+        List<String> handled = new CopyOnWriteArrayList<>();
+
+        Consumer<ConsumerRecord<String, String>> handler = tracked(record -> {
+            if (record.offset() == 10) {
+                try {
+                    Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+                } catch (InterruptedException e) {
+                    long exitAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(300);
+                    while (System.nanoTime() < exitAt) {
+                        Thread.onSpinWait();
+                    }
+                    blockedHandlerExited.set(true);
+                    throw new IllegalStateException("interrupted");
+                }
+            }
+            handled.add(record.partition() + "@" + record.offset());
+        });
+
+        // When
+        Map<TopicPartition, Long> redeliverFrom = processor.process(records, handler);
+
+        // Then - the blocked handler has exited, only partition 0 is redelivered, from its first record
+        assertThat(blockedHandlerExited).isTrue();
+        assertThat(redeliverFrom).containsExactly(Map.entry(new TopicPartition(TOPIC, 0), 10L));
+        assertThat(handled).containsExactlyInAnyOrder("1@20", "1@21");
+
+        // When - the redelivered tail of partition 0 is processed again
+        Map<TopicPartition, Long> retried = processor.process(List.of(record(0, 10, "A"), record(0, 11, "A")),
+                tracked(record -> handled.add(record.partition() + "@" + record.offset())));
+
+        // Then - it completes, and key A never ran on two threads at once
+        assertThat(retried).isEmpty();
+        assertThat(handled).containsSubsequence("0@10", "0@11");
+        assertThat(overlapped).isFalse();
+    }
+
+    private Consumer<ConsumerRecord<String, String>> tracked(Consumer<ConsumerRecord<String, String>> handler) {
+        return record -> {
+            AtomicInteger active = running.computeIfAbsent(record.key(), k -> new AtomicInteger());
+            if (active.incrementAndGet() > 1) {
+                overlapped.set(true);
+            }
+            try {
+                handler.accept(record);
+            } finally {
+                active.decrementAndGet();
+            }
+        };
+    }
+
+    private static ConsumerRecord<String, String> record(int partition, long offset, String key) {
+        return new ConsumerRecord<>(TOPIC, partition, offset, key, "event-" + offset);
+    }
+
+    private static OrderConsumerProperties properties(Duration batchTimeout) {
+        OrderConsumerProperties properties = new OrderConsumerProperties();
+        properties.getProcessing().setBatchTimeout(batchTimeout);
+        return properties;
+    }
+}
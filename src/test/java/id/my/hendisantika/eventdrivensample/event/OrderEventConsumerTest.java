@@ -0,0 +1,154 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import id.my.hendisantika.eventdrivensample.config.LoggingProperties;
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import id.my.hendisantika.eventdrivensample.logging.LogSampler;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.OffsetAndMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.listener.BatchListenerFailedException;
+import org.springframework.kafka.support.Acknowledgment;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Once-per-batch commit and redelivery tests for the batch listener of {@link OrderEventConsumer}.
+ */
+class OrderEventConsumerTest {
+
+    private static final String TOPIC = "order-events";
+    private static final byte[] UNDECODABLE = {(byte) 0xFF};
+
+    private final BinaryOrderEventCodec codec =
+            new BinaryOrderEventCodec(new ObjectMapper().registerModule(new JavaTimeModule()));
+    private final FailedOrderEventForwarder forwarder = mock(FailedOrderEventForwarder.class);
+    private final Acknowledgment acknowledgment = mock(Acknowledgment.class);
+    private final Consumer<?, ?> consumer = mock(Consumer.class);
+    private final KeyOrderedEventProcessor processor = new KeyOrderedEventProcessor(properties());
+    private final OrderEventConsumer orderEventConsumer = new OrderEventConsumer(codec, processor,
+            new SimpleMeterRegistry(), new LogSampler(new LoggingProperties()), forwarder,
+            new OrderEventDeduplicator(properties(), new SimpleMeterRegistry(), () -> null));
+
+    @AfterEach
+    void shutDown() {
+        processor.destroy();
+    }
+
+    @Test
+    void shouldAcknowledgeFullBatchOnce() {
+        // Given
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, 0, "ORD-A"), record(1, 0, "ORD-B"), record(0, 1, "ORD-A"), record(1, 1, "ORD-C"));
+
+        // When
+        orderEventConsumer.handleOrderEventBatch(records, acknowledgment, consumer);
+
+        // Then
+        verify(acknowledgment, times(1)).acknowledge();
+        verify(consumer, never()).commitSync(anyMap());
+        verify(consumer, never()).seek(any(TopicPartition.class), anyLong());
+    }
+
+    @Test
+    void shouldCommitFinishedPrefixAndSeekPartitionLeftUnfinishedByTimeout() {
+        // Given - the failed record of ORD-A is still being forwarded when the batch times out,
+        // so the next record of ORD-A never runs
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                new ConsumerRecord<>(TOPIC, 0, 10, "ORD-A", UNDECODABLE), record(1, 20, "ORD-B"),
+                record(0, 11, "ORD-A"), record(1, 21, "ORD-C"));
+        doAnswer(invocation -> {
+            try {
+                Thread.sleep(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return null;
+        }).when(forwarder).forward(argThat(record -> "ORD-A".equals(record.key())), any());
+
+        // When
+        orderEventConsumer.handleOrderEventBatch(records, acknowledgment, consumer);
+
+        // Then - partition 0 is committed up to and redelivered from offset 11, partition 1 in full
+        TopicPartition partition0 = new TopicPartition(TOPIC, 0);
+        TopicPartition partition1 = new TopicPartition(TOPIC, 1);
+        verify(consumer).commitSync(Map.of(
+                partition0, new OffsetAndMetadata(11),
+                partition1, new OffsetAndMetadata(22)));
+        verify(consumer).seek(partition0, 11L);
+        verify(consumer, never()).seek(eq(partition1), anyLong());
+        verify(acknowledgment, never()).acknowledge();
+    }
+
+    @Test
+    void shouldFindFirstUnfinishedRecordAcrossPartitions() {
+        // Given
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, 0, "ORD-A"), record(1, 5, "ORD-B"), record(0, 1, "ORD-A"), record(1, 6, "ORD-C"));
+
+        // When / Then
+        assertThat(OrderEventConsumer.firstUnfinishedIndex(records, Map.of(new TopicPartition(TOPIC, 0), 1L)))
+                .isEqualTo(2);
+        assertThat(OrderEventConsumer.firstUnfinishedIndex(records, Map.of(
+                new TopicPartition(TOPIC, 0), 1L, new TopicPartition(TOPIC, 1), 5L)))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void shouldHandOverToErrorHandlerWhenRecordCannotBeForwarded() {
+        // Given - the record at index 1 fails and its forward fails too
+        List<ConsumerRecord<String, byte[]>> records = List.of(
+                record(0, 0, "ORD-A"), new ConsumerRecord<>(TOPIC, 1, 0, "ORD-B", UNDECODABLE),
+                record(0, 1, "ORD-A"), record(1, 1, "ORD-C"));
+        doThrow(new RuntimeException("Could not forward order event for order: ORD-B"))
+                .when(forwarder).forward(argThat(record -> "ORD-B".equals(record.key())), any());
+
+        // When / Then - the container's error handler commits before index 1 and backs off before redelivery
+        assertThatThrownBy(() -> orderEventConsumer.handleOrderEventBatch(records, acknowledgment, consumer))
+                .isInstanceOfSatisfying(BatchListenerFailedException.class,
+                        failure -> assertThat(failure.getIndex()).isEqualTo(1));
+        verify(acknowledgment, never()).acknowledge();
+        verify(consumer, never()).commitSync(anyMap());
+    }
+
+    private ConsumerRecord<String, byte[]> record(int partition, long offset, String orderNumber) {
+        OrderEvent event = new OrderEvent();
+        event.setEventId(1000L * partition + offset + 1);
+        event.setEventType(OrderEventType.ORDER_CONFIRMED);
+        event.setOrderNumber(orderNumber);
+        event.setStatus(OrderStatus.CONFIRMED);
+        event.setTimestamp(LocalDateTime.now());
+        return new ConsumerRecord<>(TOPIC, partition, offset, orderNumber, codec.encode(event));
+    }
+
+    private static OrderConsumerProperties properties() {
+        OrderConsumerProperties properties = new OrderConsumerProperties();
+        properties.getProcessing().setBatchTimeout(Duration.ofMillis(200));
+        properties.getDedup().setEnabled(false);
+        return properties;
+    }
+}
@@ -0,0 +1,137 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OrderConsumerProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Duplicate detection and watermark persistence tests for {@link OrderEventDeduplicator}.
+ */
+class OrderEventDeduplicatorTest {
+
+    private static final String TOPIC_IDENTITY = "cluster-1/topic-1";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldSkipResentEventIdAtNewOffset() {
+        // Given
+        OrderEventDeduplicator deduplicator = deduplicator(TOPIC_IDENTITY);
+        deduplicator.markProcessed(0, 42L);
+        deduplicator.advanceWatermark(0, 10);
+
+        // When / Then
+        assertThat(deduplicator.isDuplicate(0, 11, 42L)).isTrue();
+        assertThat(deduplicator.isDuplicate(0, 11, 43L)).isFalse();
+        assertThat(deduplicator.isDuplicate(1, 11, 42L)).isFalse();
+    }
+
+    @Test
+    void shouldSkipOffsetsAtOrBelowRestoredWatermark() {
+        // Given
+        OrderEventDeduplicator first = deduplicator(TOPIC_IDENTITY);
+        first.advanceWatermark(0, 100);
+        first.advanceWatermark(2, 7);
+        first.flushWatermarks();
+
+        // When
+        OrderEventDeduplicator restarted = deduplicator(TOPIC_IDENTITY);
+        restarted.afterPropertiesSet();
+
+        // Then
+        assertThat(restarted.isDuplicate(0, 100, null)).isTrue();
+        assertThat(restarted.isDuplicate(0, 101, null)).isFalse();
+        assertThat(restarted.isDuplicate(2, 7, 99L)).isTrue();
+        assertThat(restarted.isDuplicate(1, 0, null)).isFalse();
+    }
+
+    @Test
+    void shouldDiscardWatermarksOfRecreatedTopic() {
+        // Given
+        OrderEventDeduplicator first = deduplicator(TOPIC_IDENTITY);
+        first.advanceWatermark(0, 100);
+        first.flushWatermarks();
+
+        // When - the topic was deleted and created again under the same name
+        OrderEventDeduplicator restarted = deduplicator("cluster-1/topic-2");
+        restarted.afterPropertiesSet();
+
+        // Then
+        assertThat(restarted.isDuplicate(0, 0, null)).isFalse();
+        assertThat(restarted.isDuplicate(0, 100, null)).isFalse();
+    }
+
+    @Test
+    void shouldDiscardWatermarksWhenTopicIdentityIsUnknown() {
+        // Given
+        OrderEventDeduplicator first = deduplicator(TOPIC_IDENTITY);
+        first.advanceWatermark(0, 100);
+        first.flushWatermarks();
+
+        // When - the broker cannot be reached at startup
+        OrderEventDeduplicator restarted = deduplicator(null);
+        restarted.afterPropertiesSet();
+
+        // Then
+        assertThat(restarted.isDuplicate(0, 50, null)).isFalse();
+    }
+
+    @Test
+    void shouldWriteWatermarksOnceTopicIdentityIsKnown() {
+        // Given - the topic did not exist at startup
+        AtomicReference<String> identity = new AtomicReference<>();
+        OrderEventDeduplicator first = new OrderEventDeduplicator(properties(1024), new SimpleMeterRegistry(),
+                identity::get);
+        first.afterPropertiesSet();
+        first.advanceWatermark(0, 100);
+        first.flushWatermarks();
+        assertThat(tempDir.resolve("order-consumer.watermarks")).doesNotExist();
+
+        // When
+        identity.set(TOPIC_IDENTITY);
+        first.flushWatermarks();
+        OrderEventDeduplicator restarted = deduplicator(TOPIC_IDENTITY);
+        restarted.afterPropertiesSet();
+
+        // Then
+        assertThat(restarted.isDuplicate(0, 100, null)).isTrue();
+    }
+
+    @Test
+    void shouldForgetOldestIdsOnceWindowIsFull() {
+        // Given
+        OrderEventDeduplicator.LongWindow window = new OrderEventDeduplicator.LongWindow(1000);
+
+        // When
+        for (long id = 1; id <= 5000; id++) {
+            window.add(id * 7919);
+        }
+
+        // Then
+        assertThat(window.size()).isEqualTo(1000);
+        for (long id = 1; id <= 4000; id++) {
+            assertThat(window.contains(id * 7919)).isFalse();
+        }
+        for (long id = 4001; id <= 5000; id++) {
+            assertThat(window.contains(id * 7919)).isTrue();
+        }
+    }
+
+    private OrderEventDeduplicator deduplicator(String topicIdentity) {
+        return new OrderEventDeduplicator(properties(1024), new SimpleMeterRegistry(), () -> topicIdentity);
+    }
+
+    private OrderConsumerProperties properties(int windowSize) {
+        OrderConsumerProperties properties = new OrderConsumerProperties();
+        properties.getDedup().setWindowSize(windowSize);
+        properties.getDedup().setWatermarkPath(tempDir.resolve("order-consumer.watermarks"));
+        return properties;
+    }
+}
@@ -0,0 +1,126 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.PublisherProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.clients.producer.RecordMetadata;
+import org.apache.kafka.common.TopicPartition;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * In-flight limit and metrics tests for {@link OrderEventPublisher}.
+ */
+class OrderEventPublisherTest {
+
+    private static final String TOPIC = "order-events";
+    private static final byte[] PAYLOAD = {1, 2, 3};
+
+    @SuppressWarnings("unchecked")
+    private final KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private OrderEventPublisher publisher;
+
+    @BeforeEach
+    void setUp() {
+        PublisherProperties properties = new PublisherProperties();
+        properties.setMaxInFlight(1);
+        properties.setAcquireTimeout(Duration.ofMillis(50));
+        publisher = new OrderEventPublisher(kafkaTemplate, mock(OrderEventCodec.class), properties, meterRegistry);
+    }
+
+    @Test
+    void shouldRejectSendOnceInFlightLimitIsNotReleasedInTime() {
+        // Given - the only permit is held by an unacknowledged send
+        when(kafkaTemplate.send(TOPIC, "ORD-1", PAYLOAD)).thenReturn(new CompletableFuture<>());
+        publisher.publish(TOPIC, "ORD-1", PAYLOAD);
+
+        // When
+        CompletableFuture<SendResult<String, byte[]>> rejected = publisher.publish(TOPIC, "ORD-2", PAYLOAD);
+
+        // Then
+        assertThat(rejected).isCompletedExceptionally();
+        assertThat(meterRegistry.get("order.events.publish.rejected").counter().count()).isEqualTo(1);
+        assertThat(inFlight()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldReleasePermitOnAcknowledgement() {
+        // Given
+        CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(TOPIC, "ORD-1", PAYLOAD)).thenReturn(ack);
+        publisher.publish(TOPIC, "ORD-1", PAYLOAD);
+
+        // When
+        ack.complete(sendResult());
+
+        // Then
+        assertThat(inFlight()).isZero();
+        assertThat(publishTimerCount("success")).isEqualTo(1);
+        assertThat(publishTimerCount("failure")).isZero();
+        assertThat(acquiresNextPermit()).isTrue();
+    }
+
+    @Test
+    void shouldReleasePermitOnFailedSend() {
+        // Given
+        CompletableFuture<SendResult<String, byte[]>> ack = new CompletableFuture<>();
+        when(kafkaTemplate.send(TOPIC, "ORD-1", PAYLOAD)).thenReturn(ack);
+        CompletableFuture<SendResult<String, byte[]>> send = publisher.publish(TOPIC, "ORD-1", PAYLOAD);
+
+        // When
+        ack.completeExceptionally(new RuntimeException("Broker unavailable"));
+
+        // Then
+        assertThat(send).isCompletedExceptionally();
+        assertThat(inFlight()).isZero();
+        assertThat(publishTimerCount("failure")).isEqualTo(1);
+        assertThat(publishTimerCount("success")).isZero();
+        assertThat(acquiresNextPermit()).isTrue();
+    }
+
+    @Test
+    void shouldReleasePermitWhenSendThrows() {
+        // Given
+        when(kafkaTemplate.send(TOPIC, "ORD-1", PAYLOAD)).thenThrow(new IllegalStateException("Producer closed"));
+
+        // When
+        CompletableFuture<SendResult<String, byte[]>> send = publisher.publish(TOPIC, "ORD-1", PAYLOAD);
+
+        // Then
+        assertThat(send).isCompletedExceptionally();
+        assertThat(inFlight()).isZero();
+        assertThat(publishTimerCount("failure")).isEqualTo(1);
+        assertThat(meterRegistry.get("order.events.publish.rejected").counter().count()).isZero();
+        assertThat(acquiresNextPermit()).isTrue();
+    }
+
+    private boolean acquiresNextPermit() {
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(new CompletableFuture<>());
+        return !publisher.publish(TOPIC, "ORD-NEXT", PAYLOAD).isCompletedExceptionally();
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("order.events.publish.in-flight").gauge().value();
+    }
+
+    private long publishTimerCount(String outcome) {
+        return meterRegistry.get("order.events.publish").tag("outcome", outcome).timer().count();
+    }
+
+    private static SendResult<String, byte[]> sendResult() {
+        RecordMetadata metadata = new RecordMetadata(new TopicPartition(TOPIC, 0), 42L, 0, 0L, 5, PAYLOAD.length);
+        return new SendResult<>(new ProducerRecord<>(TOPIC, "ORD-1", PAYLOAD), metadata);
+    }
+}
@@ -0,0 +1,163 @@
+package id.my.hendisantika.eventdrivensample.event;
+
+import id.my.hendisantika.eventdrivensample.config.OutboxProperties;
+import id.my.hendisantika.eventdrivensample.model.OutboxEvent;
+import id.my.hendisantika.eventdrivensample.repository.OutboxEventRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Partial failure, rollback and per-key ordering tests for {@link OutboxRelay#relayBatch()}.
+ */
+class OutboxRelayTest {
+
+    private final OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+    private final OrderEventPublisher orderEventPublisher = mock(OrderEventPublisher.class);
+    private OutboxRelay outboxRelay;
+
+    @BeforeEach
+    void setUp() {
+        OutboxProperties properties = new OutboxProperties();
+        properties.setSendTimeout(Duration.ofMillis(200));
+        outboxRelay = new OutboxRelay(outboxEventRepository, orderEventPublisher, properties,
+                mock(PlatformTransactionManager.class));
+        when(orderEventPublisher.inTransaction(any())).thenAnswer(invocation ->
+                invocation.<Supplier<?>>getArgument(0).get());
+    }
+
+    @Test
+    void shouldDeleteEveryAcknowledgedRow() {
+        // Given
+        OutboxEvent a1 = outboxEvent(1L, "ORD-A");
+        OutboxEvent b1 = outboxEvent(2L, "ORD-B");
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(a1, b1));
+        acknowledge(a1);
+        acknowledge(b1);
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertThat(relayed).isEqualTo(2);
+        assertThat(deletedRows()).containsExactly(a1, b1);
+    }
+
+    @Test
+    void shouldKeepFailedRowAndLaterRowsOfTheSameKey() {
+        // Given - the second event of ORD-A fails while its third event and ORD-B are acknowledged
+        OutboxEvent a1 = outboxEvent(1L, "ORD-A");
+        OutboxEvent a2 = outboxEvent(2L, "ORD-A");
+        OutboxEvent b1 = outboxEvent(3L, "ORD-B");
+        OutboxEvent a3 = outboxEvent(4L, "ORD-A");
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(a1, a2, b1, a3));
+        acknowledge(a1);
+        fail(a2);
+        acknowledge(b1);
+        acknowledge(a3);
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then - a2 and a3 stay, so the next run sends them again in their original order
+        assertThat(relayed).isEqualTo(2);
+        assertThat(deletedRows()).containsExactly(a1, b1);
+    }
+
+    @Test
+    void shouldKeepUnacknowledgedRowsAfterSendTimeout() {
+        // Given - ORD-A is never acknowledged
+        OutboxEvent a1 = outboxEvent(1L, "ORD-A");
+        OutboxEvent b1 = outboxEvent(2L, "ORD-B");
+        OutboxEvent a2 = outboxEvent(3L, "ORD-A");
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(a1, b1, a2));
+        when(orderEventPublisher.publish(eq(a1.getTopic()), eq("ORD-A"), any()))
+                .thenReturn(new CompletableFuture<>());
+        acknowledge(b1);
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertThat(relayed).isEqualTo(1);
+        assertThat(deletedRows()).containsExactly(b1);
+    }
+
+    @Test
+    void shouldKeepWholeBatchWhenTransactionRollsBack() {
+        // Given
+        OutboxEvent a1 = outboxEvent(1L, "ORD-A");
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(a1));
+        doThrow(new RuntimeException("Transaction aborted")).when(orderEventPublisher).inTransaction(any());
+
+        // When
+        int relayed = outboxRelay.relayBatch();
+
+        // Then
+        assertThat(relayed).isZero();
+        verify(outboxEventRepository, never()).deleteAllInBatch(any());
+    }
+
+    @Test
+    void shouldSendRowsInOutboxOrder() {
+        // Given
+        OutboxEvent a1 = outboxEvent(1L, "ORD-A");
+        OutboxEvent b1 = outboxEvent(2L, "ORD-B");
+        OutboxEvent a2 = outboxEvent(3L, "ORD-A");
+        when(outboxEventRepository.lockNextBatch(anyInt())).thenReturn(List.of(a1, b1, a2));
+        acknowledge(a1);
+        acknowledge(b1);
+        acknowledge(a2);
+
+        // When
+        outboxRelay.relayBatch();
+
+        // Then
+        InOrder sends = inOrder(orderEventPublisher);
+        sends.verify(orderEventPublisher).publish(a1.getTopic(), "ORD-A", a1.getPayload());
+        sends.verify(orderEventPublisher).publish(b1.getTopic(), "ORD-B", b1.getPayload());
+        sends.verify(orderEventPublisher).publish(a2.getTopic(), "ORD-A", a2.getPayload());
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<OutboxEvent> deletedRows() {
+        ArgumentCaptor<Iterable<OutboxEvent>> deleted = ArgumentCaptor.forClass(Iterable.class);
+        verify(outboxEventRepository).deleteAllInBatch(deleted.capture());
+        return (List<OutboxEvent>) deleted.getValue();
+    }
+
+    private void acknowledge(OutboxEvent outboxEvent) {
+        when(orderEventPublisher.publish(outboxEvent.getTopic(), outboxEvent.getMessageKey(), outboxEvent.getPayload()))
+                .thenReturn(CompletableFuture.completedFuture(new SendResult<>(null, null)));
+    }
+
+    private void fail(OutboxEvent outboxEvent) {
+        when(orderEventPublisher.publish(outboxEvent.getTopic(), outboxEvent.getMessageKey(), outboxEvent.getPayload()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("Broker unavailable")));
+    }
+
+    private static OutboxEvent outboxEvent(Long id, String orderNumber) {
+        return new OutboxEvent(id, OrderEventOutbox.ORDER_TOPIC, orderNumber, "ORDER_CONFIRMED",
+                new byte[]{id.byteValue()}, LocalDateTime.now());
+    }
+}
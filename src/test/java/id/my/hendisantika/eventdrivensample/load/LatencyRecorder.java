@@ -0,0 +1,55 @@
+package id.my.hendisantika.eventdrivensample.load;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free recorder of request latencies for load tests.
+ * Samples beyond the configured capacity are dropped and counted.
+ */
+class LatencyRecorder {
+
+    private final AtomicLongArray samples;
+    private final AtomicInteger count = new AtomicInteger();
+
+    LatencyRecorder(int capacity) {
+        this.samples = new AtomicLongArray(capacity);
+    }
+
+    void record(long nanos) {
+        int index = count.getAndIncrement();
+        if (index < samples.length()) {
+            samples.set(index, nanos);
+        }
+    }
+
+    int count() {
+        return count.get();
+    }
+
+    Snapshot snapshot() {
+        int size = Math.min(count.get(), samples.length());
+        long[] sorted = new long[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = samples.get(i);
+        }
+        Arrays.sort(sorted);
+        return new Snapshot(sorted);
+    }
+
+    record Snapshot(long[] sortedNanos) {
+
+        double percentileMillis(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+
+        double maxMillis() {
+            return sortedNanos.length == 0 ? 0 : sortedNanos[sortedNanos.length - 1] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package id.my.hendisantika.eventdrivensample.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal HTTP client for {@code /api/orders} used by the load tests. Every call records its
+ * latency, and failed calls are counted instead of thrown.
+ */
+class OrderApiClient {
+
+    private static final String ORDER_NUMBER_KEY = "\"orderNumber\":\"";
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final String baseUrl;
+    private final AtomicInteger errors = new AtomicInteger();
+
+    OrderApiClient(int port) {
+        this("http://localhost:" + port);
+    }
+
+    /**
+     * @param serverUrl scheme, host and port of a running instance, e.g. {@code http://localhost:8090}
+     */
+    OrderApiClient(String serverUrl) {
+        this.baseUrl = serverUrl + "/api/orders";
+    }
+
+    /**
+     * Creates an order and returns its order number, or {@code null} if the call failed.
+     */
+    String create(int clientId, LatencyRecorder recorder) {
+        String body = """
+                {"customerName":"Load %d","customerEmail":"load%d@example.com",\
+                "productName":"Widget","quantity":1,"unitPrice":10.00}""".formatted(clientId, clientId);
+        String response = send(HttpRequest.newBuilder(URI.create(baseUrl))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), recorder);
+        return response == null ? null : extractOrderNumber(response);
+    }
+
+    /**
+     * Calls {@code PUT /api/orders/{orderNumber}/{action}}, e.g. {@code confirm} or {@code ship}.
+     */
+    boolean transition(String orderNumber, String action, LatencyRecorder recorder) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + orderNumber + "/" + action))
+                .PUT(HttpRequest.BodyPublishers.noBody()).build(), recorder) != null;
+    }
+
+    boolean get(String orderNumber, LatencyRecorder recorder) {
+        return send(HttpRequest.newBuilder(URI.create(baseUrl + "/" + orderNumber)).GET().build(), recorder) != null;
+    }
+
+    int errors() {
+        return errors.get();
+    }
+
+    private String send(HttpRequest request, LatencyRecorder recorder) {
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+            recorder.record(System.nanoTime() - start);
+            if (response.statusCode() >= 300) {
+                errors.incrementAndGet();
+                return null;
+            }
+            return response.body();
+        } catch (Exception e) {
+            recorder.record(System.nanoTime() - start);
+            errors.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static String extractOrderNumber(String body) {
+        int key = body.indexOf(ORDER_NUMBER_KEY);
+        if (key < 0) {
+            return null;
+        }
+        int start = key + ORDER_NUMBER_KEY.length();
+        return body.substring(start, body.indexOf('"', start));
+    }
+}
@@ -0,0 +1,183 @@
+package id.my.hendisantika.eventdrivensample.load;
+
+import id.my.hendisantika.eventdrivensample.SpringBootEventDrivenSampleApplication;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the full create, confirm, ship, deliver lifecycle through the REST API at a fixed arrival
+ * rate and reports throughput, per-step and whole-lifecycle latency, and the lag between an event's
+ * timestamp and {@code OrderEventConsumer} picking it up.
+ * <p>
+ * Lifecycles are started on schedule whether or not earlier ones have finished, and lifecycle
+ * latency is measured from the scheduled start, so a saturated service shows up as growing
+ * latency rather than a silently lower rate.
+ * <p>
+ * Run with {@code ./gradlew loadTest --tests '*OrderLifecycleLoadTest'} and tune with
+ * {@code -Dload.rate} (lifecycles per second) and {@code -Dload.durationSeconds}. Set
+ * {@code -Dload.maxP99Millis} and {@code -Dload.minThroughput} to fail the run when lifecycle p99
+ * or lifecycles per second regress past a limit.
+ */
+@Tag("load")
+class OrderLifecycleLoadTest {
+
+    private static final int RATE = Integer.getInteger("load.rate", 200);
+    private static final int DURATION_SECONDS = Integer.getInteger("load.durationSeconds", 60);
+    private static final double MAX_P99_MILLIS = Double.parseDouble(System.getProperty("load.maxP99Millis", "0"));
+    private static final double MIN_THROUGHPUT = Double.parseDouble(System.getProperty("load.minThroughput", "0"));
+    private static final long DRAIN_TIMEOUT_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private static final String[] TRANSITIONS = {"confirm", "ship", "deliver"};
+    private static final String LAG_TIMER = "order.events.consume.lag";
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    static EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 3, "order-events");
+
+    @TempDir
+    static Path dataDir;
+
+    @BeforeAll
+    static void startInfrastructure() {
+        postgres.start();
+        kafka.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopInfrastructure() {
+        kafka.destroy();
+        postgres.stop();
+    }
+
+    @Test
+    void shouldSustainConfiguredRate() throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootEventDrivenSampleApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.show-sql=false",
+                        "spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                        "order.consumer.dedup.watermark-path=" + dataDir.resolve("order-consumer.watermarks"),
+                        "management.metrics.distribution.percentiles." + LAG_TIMER + "=0.5,0.99,0.999",
+                        "logging.level.id.my.hendisantika.eventdrivensample=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            OrderApiClient api = new OrderApiClient(port);
+            Timer lagTimer = context.getBean(MeterRegistry.class).get(LAG_TIMER).timer();
+
+            int total = RATE * DURATION_SECONDS;
+            long intervalNanos = TimeUnit.SECONDS.toNanos(1) / RATE;
+            LatencyRecorder create = new LatencyRecorder(total);
+            LatencyRecorder[] transitions = new LatencyRecorder[TRANSITIONS.length];
+            for (int i = 0; i < transitions.length; i++) {
+                transitions[i] = new LatencyRecorder(total);
+            }
+            LatencyRecorder lifecycle = new LatencyRecorder(total);
+            AtomicLong publishedEvents = new AtomicLong();
+
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < total; i++) {
+                    long scheduledStart = start + i * intervalNanos;
+                    long wait = scheduledStart - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    int clientId = i;
+                    clients.submit(() -> runLifecycle(api, clientId, scheduledStart,
+                            create, transitions, lifecycle, publishedEvents));
+                }
+            }
+            double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+            long drainDeadline = System.nanoTime() + DRAIN_TIMEOUT_NANOS;
+            while (lagTimer.count() < publishedEvents.get() && System.nanoTime() < drainDeadline) {
+                Thread.sleep(100);
+            }
+
+            double lifecyclesPerSecond = lifecycle.count() / elapsedSeconds;
+            LatencyRecorder.Snapshot lifecycleLatencies = lifecycle.snapshot();
+            System.out.printf("target %d lifecycles/s for %ds: %.1f lifecycles/s, %.1f requests/s, %d errors%n",
+                    RATE, DURATION_SECONDS, lifecyclesPerSecond,
+                    (create.count() + transitions[0].count() + transitions[1].count() + transitions[2].count()) / elapsedSeconds,
+                    api.errors());
+            System.out.printf("%-10s %8s %10s %10s %10s %10s%n", "step", "count", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+            print("create", create.count(), create.snapshot());
+            for (int i = 0; i < TRANSITIONS.length; i++) {
+                print(TRANSITIONS[i], transitions[i].count(), transitions[i].snapshot());
+            }
+            print("lifecycle", lifecycle.count(), lifecycleLatencies);
+            printLag(lagTimer);
+
+            assertThat(api.errors()).isZero();
+            assertThat(lagTimer.count()).as("events consumed").isGreaterThanOrEqualTo(publishedEvents.get());
+            if (MAX_P99_MILLIS > 0) {
+                assertThat(lifecycleLatencies.percentileMillis(99)).as("lifecycle p99 ms").isLessThanOrEqualTo(MAX_P99_MILLIS);
+            }
+            if (MIN_THROUGHPUT > 0) {
+                assertThat(lifecyclesPerSecond).as("lifecycles per second").isGreaterThanOrEqualTo(MIN_THROUGHPUT);
+            }
+        }
+    }
+
+    private static void runLifecycle(OrderApiClient api, int clientId, long scheduledStart,
+                                     LatencyRecorder create, LatencyRecorder[] transitions,
+                                     LatencyRecorder lifecycle, AtomicLong publishedEvents) {
+        String orderNumber = api.create(clientId, create);
+        if (orderNumber == null) {
+            return;
+        }
+        publishedEvents.incrementAndGet();
+        for (int i = 0; i < TRANSITIONS.length; i++) {
+            if (!api.transition(orderNumber, TRANSITIONS[i], transitions[i])) {
+                return;
+            }
+            publishedEvents.incrementAndGet();
+        }
+        lifecycle.record(System.nanoTime() - scheduledStart);
+    }
+
+    private static void print(String step, int count, LatencyRecorder.Snapshot latencies) {
+        System.out.printf("%-10s %8d %10.2f %10.2f %10.2f %10.2f%n", step, count,
+                latencies.percentileMillis(50), latencies.percentileMillis(99),
+                latencies.percentileMillis(99.9), latencies.maxMillis());
+    }
+
+    private static void printLag(Timer lagTimer) {
+        HistogramSnapshot snapshot = lagTimer.takeSnapshot();
+        double[] percentiles = new double[3];
+        for (ValueAtPercentile value : snapshot.percentileValues()) {
+            int index = value.percentile() == 0.5 ? 0 : value.percentile() == 0.99 ? 1 : 2;
+            percentiles[index] = value.value(TimeUnit.MILLISECONDS);
+        }
+        System.out.printf("%-10s %8d %10.2f %10.2f %10.2f %10.2f%n", "event lag", snapshot.count(),
+                percentiles[0], percentiles[1], percentiles[2], snapshot.max(TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,82 @@
+package id.my.hendisantika.eventdrivensample.load;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the servlet application against the reactive module under the same burst of concurrent
+ * create/confirm/get calls. Both stacks must already be running against the same infrastructure,
+ * ideally with the same CPU budget; {@code scripts/compare-stacks.sh} starts them with
+ * {@code -XX:ActiveProcessorCount} and runs this test.
+ * <p>
+ * Run with {@code ./gradlew loadTest --tests '*StackComparisonLoadTest'
+ * -Dload.servletUrl=http://localhost:18080 -Dload.reactiveUrl=http://localhost:18090} and tune with
+ * {@code -Dload.concurrency}, {@code -Dload.requestsPerClient} and {@code -Dload.warmupClients}.
+ */
+@Tag("load")
+@EnabledIfSystemProperty(named = "load.servletUrl", matches = ".+")
+@EnabledIfSystemProperty(named = "load.reactiveUrl", matches = ".+")
+class StackComparisonLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 2000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requestsPerClient", 5);
+    private static final int WARMUP_CLIENTS = Integer.getInteger("load.warmupClients", 200);
+
+    @Test
+    void shouldCompareServletAndReactiveStacks() {
+        Result servlet = runLoad(System.getProperty("load.servletUrl"));
+        Result reactive = runLoad(System.getProperty("load.reactiveUrl"));
+
+        System.out.printf("%-9s %12s %10s %10s %10s %8s%n", "stack", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        System.out.println(servlet.format("servlet"));
+        System.out.println(reactive.format("reactive"));
+
+        assertThat(servlet.errors()).isZero();
+        assertThat(reactive.errors()).isZero();
+    }
+
+    private Result runLoad(String serverUrl) {
+        // Warm up connection pools and JIT before measuring
+        runClients(new OrderApiClient(serverUrl), new LatencyRecorder(WARMUP_CLIENTS * REQUESTS_PER_CLIENT * 3),
+                WARMUP_CLIENTS);
+
+        OrderApiClient api = new OrderApiClient(serverUrl);
+        LatencyRecorder recorder = new LatencyRecorder(CONCURRENCY * REQUESTS_PER_CLIENT * 3);
+        long start = System.nanoTime();
+        runClients(api, recorder, CONCURRENCY);
+        long elapsedNanos = System.nanoTime() - start;
+        return new Result(recorder.count() * 1_000_000_000.0 / elapsedNanos, recorder.snapshot(), api.errors());
+    }
+
+    private static void runClients(OrderApiClient api, LatencyRecorder recorder, int clientCount) {
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < clientCount; c++) {
+                int clientId = c;
+                clients.submit(() -> {
+                    for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                        String orderNumber = api.create(clientId, recorder);
+                        if (orderNumber == null) {
+                            continue;
+                        }
+                        api.transition(orderNumber, "confirm", recorder);
+                        api.get(orderNumber, recorder);
+                    }
+                });
+            }
+        }
+    }
+
+    private record Result(double throughput, LatencyRecorder.Snapshot latencies, int errors) {
+
+        String format(String stack) {
+            return String.format("%-9s %12.1f %10.2f %10.2f %10.2f %8d", stack, throughput,
+                    latencies.percentileMillis(50), latencies.percentileMillis(99), latencies.maxMillis(), errors);
+        }
+    }
+}
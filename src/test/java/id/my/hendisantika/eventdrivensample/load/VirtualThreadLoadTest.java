@@ -0,0 +1,107 @@
+package id.my.hendisantika.eventdrivensample.load;
+
+import id.my.hendisantika.eventdrivensample.SpringBootEventDrivenSampleApplication;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the order API on Tomcat platform threads against virtual threads under a burst of
+ * concurrent create/confirm/get calls. Run with {@code ./gradlew loadTest}; tune with
+ * {@code -Dload.concurrency} and {@code -Dload.requestsPerClient}.
+ */
+@Tag("load")
+class VirtualThreadLoadTest {
+
+    private static final int CONCURRENCY = Integer.getInteger("load.concurrency", 1000);
+    private static final int REQUESTS_PER_CLIENT = Integer.getInteger("load.requestsPerClient", 5);
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    static EmbeddedKafkaKraftBroker kafka = new EmbeddedKafkaKraftBroker(1, 1, "order-events");
+
+    @BeforeAll
+    static void startInfrastructure() {
+        postgres.start();
+        kafka.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopInfrastructure() {
+        kafka.destroy();
+        postgres.stop();
+    }
+
+    @Test
+    void shouldCompareVirtualAndPlatformThreads() throws Exception {
+        Result platform = runLoad(false);
+        Result virtual = runLoad(true);
+
+        System.out.printf("%-9s %12s %10s %10s %10s %8s%n", "mode", "requests/s", "p50 ms", "p99 ms", "max ms", "errors");
+        System.out.println(platform.format("platform"));
+        System.out.println(virtual.format("virtual"));
+
+        assertThat(platform.errors()).isZero();
+        assertThat(virtual.errors()).isZero();
+    }
+
+    private Result runLoad(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(SpringBootEventDrivenSampleApplication.class)
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=" + postgres.getJdbcUrl(),
+                        "spring.datasource.username=" + postgres.getUsername(),
+                        "spring.datasource.password=" + postgres.getPassword(),
+                        "spring.jpa.hibernate.ddl-auto=validate",
+                        "spring.jpa.show-sql=false",
+                        "spring.kafka.bootstrap-servers=" + kafka.getBrokersAsString(),
+                        "logging.level.id.my.hendisantika.eventdrivensample=WARN")
+                .run()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            OrderApiClient api = new OrderApiClient(port);
+            LatencyRecorder recorder = new LatencyRecorder(CONCURRENCY * REQUESTS_PER_CLIENT * 3);
+
+            long start = System.nanoTime();
+            try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int c = 0; c < CONCURRENCY; c++) {
+                    int clientId = c;
+                    clients.submit(() -> {
+                        for (int r = 0; r < REQUESTS_PER_CLIENT; r++) {
+                            String orderNumber = api.create(clientId, recorder);
+                            if (orderNumber == null) {
+                                continue;
+                            }
+                            api.transition(orderNumber, "confirm", recorder);
+                            api.get(orderNumber, recorder);
+                        }
+                    });
+                }
+            }
+            long elapsedNanos = System.nanoTime() - start;
+            return new Result(recorder.count() * 1_000_000_000.0 / elapsedNanos, recorder.snapshot(), api.errors());
+        }
+    }
+
+    private record Result(double throughput, LatencyRecorder.Snapshot latencies, int errors) {
+
+        String format(String mode) {
+            return String.format("%-9s %12.1f %10.2f %10.2f %10.2f %8d", mode, throughput,
+                    latencies.percentileMillis(50), latencies.percentileMillis(99), latencies.maxMillis(), errors);
+        }
+    }
+}
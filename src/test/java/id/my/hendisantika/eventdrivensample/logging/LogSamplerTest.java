@@ -0,0 +1,47 @@
+package id.my.hendisantika.eventdrivensample.logging;
+
+import id.my.hendisantika.eventdrivensample.config.LoggingProperties;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Rate-limiting tests for {@link LogSampler}.
+ */
+class LogSamplerTest {
+
+    @Test
+    void shouldLimitLinesPerCategory() {
+        // Given
+        LogSampler logSampler = new LogSampler(properties(3));
+
+        // When
+        int logged = 0;
+        for (int i = 0; i < 100; i++) {
+            if (logSampler.sample("ORDER_CREATED") != LogSampler.SUPPRESSED) {
+                logged++;
+            }
+        }
+
+        // Then
+        assertThat(logged).isBetween(3, 6);
+        assertThat(logSampler.sample("ORDER_SHIPPED")).isZero();
+    }
+
+    @Test
+    void shouldLogEverythingWhenSamplingIsDisabled() {
+        // Given
+        LogSampler logSampler = new LogSampler(properties(0));
+
+        // When / Then
+        for (int i = 0; i < 100; i++) {
+            assertThat(logSampler.sample("ORDER_CREATED")).isZero();
+        }
+    }
+
+    private static LoggingProperties properties(int sampledEventsPerSecond) {
+        LoggingProperties loggingProperties = new LoggingProperties();
+        loggingProperties.setSampledEventsPerSecond(sampledEventsPerSecond);
+        return loggingProperties;
+    }
+}
@@ -0,0 +1,90 @@
+package id.my.hendisantika.eventdrivensample.projection;
+
+import id.my.hendisantika.eventdrivensample.config.ProjectionProperties;
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.event.OrderEvent;
+import id.my.hendisantika.eventdrivensample.event.OrderEventType;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Event application and snapshot round-trip tests for {@link OrderProjection}.
+ */
+class OrderProjectionTest {
+
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2026, 10, 17, 9, 0);
+    private static final LocalDateTime SHIPPED_AT = LocalDateTime.of(2026, 10, 17, 11, 30);
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void shouldProjectLatestStateAndKeepCreationTime() {
+        // Given
+        OrderProjection projection = new OrderProjection(properties(), List.of());
+        projection.markCaughtUp();
+
+        // When
+        projection.apply(event(OrderEventType.ORDER_CREATED, OrderStatus.CREATED, CREATED_AT), 0, 0);
+        projection.apply(event(OrderEventType.ORDER_SHIPPED, OrderStatus.SHIPPED, SHIPPED_AT), 0, 1);
+
+        // Then
+        OrderResponse order = projection.find("ORD-1").orElseThrow();
+        assertThat(order.getStatus()).isEqualTo(OrderStatus.SHIPPED);
+        assertThat(order.getCreatedAt()).isEqualTo(CREATED_AT);
+        assertThat(order.getUpdatedAt()).isEqualTo(SHIPPED_AT);
+        assertThat(projection.nextOffset(0)).isEqualTo(2);
+    }
+
+    @Test
+    void shouldNotServeReadsBeforeCatchingUp() {
+        // Given
+        OrderProjection projection = new OrderProjection(properties(), List.of());
+
+        // When
+        projection.apply(event(OrderEventType.ORDER_CREATED, OrderStatus.CREATED, CREATED_AT), 0, 0);
+
+        // Then
+        assertThat(projection.find("ORD-1")).isEmpty();
+    }
+
+    @Test
+    void shouldRestoreOrdersAndOffsetsFromSnapshot() {
+        // Given
+        OrderProjection projection = new OrderProjection(properties(), List.of());
+        projection.apply(event(OrderEventType.ORDER_CREATED, OrderStatus.CREATED, CREATED_AT), 2, 41);
+        projection.writeSnapshot();
+
+        // When
+        OrderProjection restored = new OrderProjection(properties(), List.of());
+        restored.afterPropertiesSet();
+        restored.markCaughtUp();
+
+        // Then
+        assertThat(restored.size()).isEqualTo(1);
+        assertThat(restored.nextOffset(2)).isEqualTo(42);
+        assertThat(restored.find("ORD-1").orElseThrow()).isEqualTo(OrderProjection.project(null,
+                event(OrderEventType.ORDER_CREATED, OrderStatus.CREATED, CREATED_AT)));
+    }
+
+    private ProjectionProperties properties() {
+        ProjectionProperties properties = new ProjectionProperties();
+        properties.setEnabled(true);
+        properties.setServeReads(true);
+        properties.setSnapshotPath(tempDir.resolve("projection.snapshot"));
+        return properties;
+    }
+
+    private static OrderEvent event(OrderEventType eventType, OrderStatus status, LocalDateTime timestamp) {
+        return new OrderEvent(100L, eventType, 1L, "ORD-1", "John Doe", "john@example.com", "Laptop", 2,
+                new BigDecimal("999.99"), new BigDecimal("1999.98"), status, timestamp);
+    }
+}
@@ -0,0 +1,63 @@
+package id.my.hendisantika.eventdrivensample.projection;
+
+import id.my.hendisantika.eventdrivensample.dto.OrderResponse;
+import id.my.hendisantika.eventdrivensample.dto.OrderStatsResponse;
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Incremental aggregation tests for {@link OrderStatsAggregator}.
+ */
+class OrderStatsAggregatorTest {
+
+    private final OrderStatsAggregator aggregator = new OrderStatsAggregator();
+
+    @Test
+    void shouldMoveCountsBetweenStatuses() {
+        // Given
+        OrderResponse created = order("ORD-1", "Laptop", "1999.98", OrderStatus.CREATED, 17);
+        OrderResponse confirmed = order("ORD-1", "Laptop", "1999.98", OrderStatus.CONFIRMED, 17);
+
+        // When
+        aggregator.onOrderChanged(null, created);
+        aggregator.onOrderChanged(created, confirmed);
+        aggregator.onOrderChanged(null, order("ORD-2", "Tablet", "299.99", OrderStatus.CREATED, 18));
+
+        // Then
+        OrderStatsResponse stats = aggregator.getStats(true);
+        assertThat(stats.getCountsByStatus().get(OrderStatus.CREATED)).isEqualTo(1);
+        assertThat(stats.getCountsByStatus().get(OrderStatus.CONFIRMED)).isEqualTo(1);
+        assertThat(stats.getTotalOrders()).isEqualTo(2);
+        assertThat(stats.getRevenue()).isEqualByComparingTo("2299.97");
+    }
+
+    @Test
+    void shouldRemoveRevenueOfCancelledOrders() {
+        // Given
+        OrderResponse created = order("ORD-1", "Laptop", "1999.98", OrderStatus.CREATED, 17);
+        aggregator.onOrderChanged(null, created);
+        aggregator.onOrderChanged(null, order("ORD-2", "Laptop", "999.99", OrderStatus.CREATED, 18));
+
+        // When
+        aggregator.onOrderChanged(created, order("ORD-1", "Laptop", "1999.98", OrderStatus.CANCELLED, 17));
+
+        // Then
+        assertThat(aggregator.getRevenueByProduct()).containsEntry("Laptop", new BigDecimal("999.99"));
+        assertThat(aggregator.getRevenueByDay(LocalDate.of(2026, 10, 17), LocalDate.of(2026, 10, 18)))
+                .containsOnlyKeys(LocalDate.of(2026, 10, 18));
+        assertThat(aggregator.getCount(OrderStatus.CANCELLED)).isEqualTo(1);
+    }
+
+    private static OrderResponse order(String orderNumber, String product, String totalAmount,
+                                       OrderStatus status, int day) {
+        LocalDateTime createdAt = LocalDateTime.of(2026, 10, day, 9, 0);
+        return new OrderResponse(1L, orderNumber, "John Doe", "john@example.com", product, 1,
+                new BigDecimal(totalAmount), new BigDecimal(totalAmount), status, createdAt, createdAt);
+    }
+}
@@ -0,0 +1,150 @@
+package id.my.hendisantika.eventdrivensample.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the {@link OrderRepository} query patterns against a large orders table, first with
+ * the indexes from the Flyway migrations and then with those indexes dropped.
+ * Run with {@code ./gradlew benchmarkTest -Dbenchmark.rows=10000000}.
+ */
+@Tag("benchmark")
+class OrderIndexBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 10_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass")
+            .withCommand("postgres", "-c", "shared_buffers=512MB", "-c", "max_wal_size=4GB");
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("""
+                    INSERT INTO orders (order_number, customer_name, customer_email, product_name, quantity,
+                                        unit_price, total_amount, status, created_at, updated_at)
+                    SELECT 'ORD-' || lpad(to_hex(i), 12, '0'),
+                           'Customer ' || (i % 100000),
+                           'customer' || (i % 100000) || '@example.com',
+                           'Product ' || (i % 500),
+                           1 + i % 5,
+                           10.00,
+                           10.00 * (1 + i % 5),
+                           (ARRAY['CREATED','CONFIRMED','PROCESSING','SHIPPED','DELIVERED','CANCELLED'])[1 + i % 6],
+                           TIMESTAMP '2026-01-01' + i * INTERVAL '1 second',
+                           TIMESTAMP '2026-01-01' + i * INTERVAL '1 second'
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(ROWS));
+            statement.execute("VACUUM ANALYZE orders");
+        }
+    }
+
+    @AfterAll
+    static void stop() {
+        postgres.stop();
+    }
+
+    @Test
+    void shouldBenchmarkLookupQueriesWithAndWithoutIndexes() throws SQLException {
+        Map<String, Double> indexed = runQueries();
+
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP INDEX ux_orders_order_number, ix_orders_customer_email_created_at_id, " +
+                    "ix_orders_status_created_at, ix_orders_created_at_id");
+        }
+        Map<String, Double> unindexed = runQueries();
+
+        System.out.printf("%n%,d rows, median of %d runs%n", ROWS, ITERATIONS);
+        System.out.printf("%-22s %14s %14s%n", "query", "indexed ms", "no index ms");
+        indexed.forEach((query, millis) ->
+                System.out.printf("%-22s %14.3f %14.3f%n", query, millis, unindexed.get(query)));
+
+        assertThat(indexed.get("findByOrderNumber")).isLessThan(unindexed.get("findByOrderNumber"));
+    }
+
+    private Map<String, Double> runQueries() throws SQLException {
+        String orderNumber = "ORD-" + String.format("%012x", ROWS / 2);
+        LocalDateTime from = LocalDateTime.of(2026, 1, 1, 0, 0).plusSeconds(ROWS / 2);
+
+        Map<String, Double> results = new LinkedHashMap<>();
+        try (Connection connection = connect()) {
+            results.put("findByOrderNumber", time(connection,
+                    "SELECT * FROM orders WHERE order_number = ?", ps -> ps.setString(1, orderNumber)));
+            results.put("byCustomerEmail", time(connection,
+                    "SELECT * FROM orders WHERE customer_email = ?", ps -> ps.setString(1, "customer4242@example.com")));
+            results.put("customerHistory (100)", time(connection,
+                    "SELECT * FROM orders WHERE customer_email = ? ORDER BY created_at DESC, id DESC LIMIT 100",
+                    ps -> ps.setString(1, "customer4242@example.com")));
+            results.put("findByStatus (100)", time(connection,
+                    "SELECT * FROM orders WHERE status = ? ORDER BY created_at LIMIT 100", ps -> ps.setString(1, "SHIPPED")));
+            results.put("countByStatus", time(connection,
+                    "SELECT COUNT(*) FROM orders WHERE status = ?", ps -> ps.setString(1, "SHIPPED")));
+            results.put("findOrdersByDateRange", time(connection,
+                    "SELECT * FROM orders WHERE created_at BETWEEN ? AND ?", ps -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(from));
+                        ps.setTimestamp(2, Timestamp.valueOf(from.plusHours(1)));
+                    }));
+            results.put("keysetPage (100)", time(connection,
+                    "SELECT * FROM orders WHERE (created_at, id) > (?, ?) ORDER BY created_at, id LIMIT 100",
+                    ps -> {
+                        ps.setTimestamp(1, Timestamp.valueOf(from));
+                        ps.setLong(2, ROWS / 2);
+                    }));
+        }
+        return results;
+    }
+
+    private static double time(Connection connection, String sql, Binder binder) throws SQLException {
+        long[] samples = new long[ITERATIONS];
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            binder.bind(statement);
+            for (int i = 0; i < ITERATIONS; i++) {
+                long start = System.nanoTime();
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        // drain the result set so transfer time is included
+                    }
+                }
+                samples[i] = System.nanoTime() - start;
+            }
+        }
+        Arrays.sort(samples);
+        return samples[ITERATIONS / 2] / 1_000_000.0;
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    @FunctionalInterface
+    private interface Binder {
+        void bind(PreparedStatement statement) throws SQLException;
+    }
+}
@@ -0,0 +1,215 @@
+package id.my.hendisantika.eventdrivensample.repository;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Races {@code benchmark.threads} workers through confirm, ship and deliver on the same orders and
+ * compares three ways of applying a transition:
+ * <ul>
+ *     <li>read the row, check the status, write every column back (the previous {@code OrderService});</li>
+ *     <li>the same with an optimistic {@code version} check on the write;</li>
+ *     <li>one conditional {@code UPDATE ... WHERE status IN (...) RETURNING *} ({@link OrderRepository#updateStatus}).</li>
+ * </ul>
+ * Every order should be transitioned exactly three times; anything above that is a lost update
+ * that would also have published a duplicate event.
+ * Run with {@code ./gradlew benchmarkTest --tests '*OrderTransitionContentionBenchmarkTest'}.
+ */
+@Tag("benchmark")
+class OrderTransitionContentionBenchmarkTest {
+
+    private static final int ORDERS = Integer.getInteger("benchmark.orders", 2_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final String[][] TRANSITIONS = {
+            {"CREATED", "CONFIRMED"},
+            {"CONFIRMED", "SHIPPED"},
+            {"SHIPPED", "DELIVERED"}
+    };
+
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine")
+            .withDatabaseName("testdb")
+            .withUsername("testuser")
+            .withPassword("testpass");
+
+    @BeforeAll
+    static void migrate() {
+        postgres.start();
+        Flyway.configure()
+                .dataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword())
+                .load()
+                .migrate();
+    }
+
+    @AfterAll
+    static void stop() {
+        postgres.stop();
+    }
+
+    @Test
+    void shouldBenchmarkTransitionsUnderContention() throws Exception {
+        Result readThenWrite = run("read then write", OrderTransitionContentionBenchmarkTest::readThenWrite);
+        Result versioned = run("versioned write", OrderTransitionContentionBenchmarkTest::versionedWrite);
+        Result conditional = run("conditional update", OrderTransitionContentionBenchmarkTest::conditionalUpdate);
+
+        System.out.printf("%n%,d orders, %d threads, %d transitions each%n", ORDERS, THREADS, TRANSITIONS.length);
+        System.out.printf("%-20s %12s %12s %12s %14s%n", "strategy", "elapsed ms", "applied", "lost updates", "statements");
+        for (Result result : List.of(readThenWrite, versioned, conditional)) {
+            System.out.printf("%-20s %12.1f %12d %12d %14d%n", result.name(), result.elapsedMillis(),
+                    result.applied(), result.applied() - (long) ORDERS * TRANSITIONS.length, result.statements());
+        }
+
+        assertThat(versioned.applied()).isEqualTo((long) ORDERS * TRANSITIONS.length);
+        assertThat(conditional.applied()).isEqualTo((long) ORDERS * TRANSITIONS.length);
+    }
+
+    private Result run(String name, Strategy strategy) throws Exception {
+        seed();
+        long start = System.nanoTime();
+        List<Future<long[]>> workers = new ArrayList<>(THREADS);
+        try (ExecutorService executor = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                workers.add(executor.submit(() -> {
+                    long[] counts = new long[2];
+                    try (Connection connection = connect()) {
+                        for (String[] transition : TRANSITIONS) {
+                            for (int i = 1; i <= ORDERS; i++) {
+                                if (strategy.apply(connection, orderNumber(i), transition[0], transition[1], counts)) {
+                                    counts[0]++;
+                                }
+                            }
+                        }
+                    }
+                    return counts;
+                }));
+            }
+        }
+        double elapsedMillis = (System.nanoTime() - start) / 1_000_000.0;
+
+        long applied = 0;
+        long statements = 0;
+        for (Future<long[]> worker : workers) {
+            long[] counts = worker.get();
+            applied += counts[0];
+            statements += counts[1];
+        }
+        return new Result(name, elapsedMillis, applied, statements);
+    }
+
+    private static boolean readThenWrite(Connection connection, String orderNumber, String from, String to,
+                                         long[] counts) throws SQLException {
+        Long id;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, status FROM orders WHERE order_number = ?")) {
+            select.setString(1, orderNumber);
+            counts[1]++;
+            try (ResultSet row = select.executeQuery()) {
+                row.next();
+                if (!from.equals(row.getString("status"))) {
+                    return false;
+                }
+                id = row.getLong("id");
+            }
+        }
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE orders SET order_number = order_number, customer_name = customer_name, " +
+                        "customer_email = customer_email, product_name = product_name, quantity = quantity, " +
+                        "unit_price = unit_price, total_amount = total_amount, status = ?, created_at = created_at, " +
+                        "updated_at = now() WHERE id = ?")) {
+            update.setString(1, to);
+            update.setLong(2, id);
+            counts[1]++;
+            return update.executeUpdate() == 1;
+        }
+    }
+
+    private static boolean versionedWrite(Connection connection, String orderNumber, String from, String to,
+                                          long[] counts) throws SQLException {
+        long id;
+        long version;
+        try (PreparedStatement select = connection.prepareStatement(
+                "SELECT id, status, version FROM orders WHERE order_number = ?")) {
+            select.setString(1, orderNumber);
+            counts[1]++;
+            try (ResultSet row = select.executeQuery()) {
+                row.next();
+                if (!from.equals(row.getString("status"))) {
+                    return false;
+                }
+                id = row.getLong("id");
+                version = row.getLong("version");
+            }
+        }
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE orders SET status = ?, version = version + 1, updated_at = now() WHERE id = ? AND version = ?")) {
+            update.setString(1, to);
+            update.setLong(2, id);
+            update.setLong(3, version);
+            counts[1]++;
+            return update.executeUpdate() == 1;
+        }
+    }
+
+    private static boolean conditionalUpdate(Connection connection, String orderNumber, String from, String to,
+                                             long[] counts) throws SQLException {
+        try (PreparedStatement update = connection.prepareStatement(
+                "UPDATE orders SET status = ?, version = version + 1, updated_at = now() " +
+                        "WHERE order_number = ? AND status = ? RETURNING *")) {
+            update.setString(1, to);
+            update.setString(2, orderNumber);
+            update.setString(3, from);
+            counts[1]++;
+            try (ResultSet row = update.executeQuery()) {
+                return row.next();
+            }
+        }
+    }
+
+    private static void seed() throws SQLException {
+        try (Connection connection = connect(); Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE orders");
+            statement.execute("""
+                    INSERT INTO orders (id, order_number, customer_name, customer_email, product_name, quantity,
+                                        unit_price, total_amount, status, created_at, updated_at)
+                    SELECT i, 'ORD-' || lpad(i::text, 13, '0'), 'Customer', 'customer@example.com', 'Product',
+                           1, 10.00, 10.00, 'CREATED', now(), now()
+                    FROM generate_series(1, %d) AS i
+                    """.formatted(ORDERS));
+            statement.execute("VACUUM ANALYZE orders");
+        }
+    }
+
+    private static String orderNumber(int i) {
+        return "ORD-" + String.format("%013d", i);
+    }
+
+    private static Connection connect() throws SQLException {
+        return DriverManager.getConnection(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+    }
+
+    @FunctionalInterface
+    private interface Strategy {
+        boolean apply(Connection connection, String orderNumber, String from, String to, long[] counts)
+                throws SQLException;
+    }
+
+    private record Result(String name, double elapsedMillis, long applied, long statements) {
+    }
+}
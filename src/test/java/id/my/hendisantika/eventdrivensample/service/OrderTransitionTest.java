@@ -0,0 +1,44 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import id.my.hendisantika.eventdrivensample.model.OrderStatus;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the order transition table.
+ */
+class OrderTransitionTest {
+
+    @Test
+    void shouldOnlyConfirmCreatedOrders() {
+        assertThat(OrderTransition.CONFIRM.isAllowedFrom(OrderStatus.CREATED)).isTrue();
+        assertThat(OrderTransition.CONFIRM.isAllowedFrom(OrderStatus.CONFIRMED)).isFalse();
+        assertThat(OrderTransition.CONFIRM.isAllowedFrom(OrderStatus.CANCELLED)).isFalse();
+    }
+
+    @Test
+    void shouldNotCancelFinishedOrders() {
+        assertThat(OrderTransition.CANCEL.isAllowedFrom(OrderStatus.SHIPPED)).isTrue();
+        assertThat(OrderTransition.CANCEL.isAllowedFrom(OrderStatus.DELIVERED)).isFalse();
+        assertThat(OrderTransition.CANCEL.isAllowedFrom(OrderStatus.CANCELLED)).isFalse();
+    }
+
+    @Test
+    void shouldExplainRejectionByCurrentStatus() {
+        assertThat(OrderTransition.SHIP.rejection("ORD-1", OrderStatus.DELIVERED))
+                .hasMessage("Cannot ship order in status DELIVERED: ORD-1");
+        assertThat(OrderTransition.SHIP.rejection("ORD-1", OrderStatus.CONFIRMED))
+                .hasMessage("Order changed concurrently, cannot ship it now: ORD-1");
+    }
+
+    @Test
+    void shouldKeepSourceStatusNamesInSyncWithTable() {
+        for (OrderTransition transition : OrderTransition.values()) {
+            for (OrderStatus status : OrderStatus.values()) {
+                assertThat(transition.getSourceStatusNames().contains(status.name()))
+                        .isEqualTo(transition.isAllowedFrom(status));
+            }
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package id.my.hendisantika.eventdrivensample.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Uniqueness and ordering tests for the snowflake order number generator.
+ */
+class SnowflakeOrderNumberGeneratorTest {
+
+    @Test
+    void shouldGenerateUniqueIncreasingIdsUnderContention() throws Exception {
+        // Given
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int idsPerThread = 50_000;
+
+        // When
+        List<Future<long[]>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            for (int t = 0; t < threads; t++) {
+                results.add(executor.submit(() -> {
+                    long[] ids = new long[idsPerThread];
+                    for (int i = 0; i < idsPerThread; i++) {
+                        ids[i] = idGenerator.nextId();
+                    }
+                    return ids;
+                }));
+            }
+        }
+
+        // Then
+        Set<Long> unique = new HashSet<>(threads * idsPerThread);
+        for (Future<long[]> result : results) {
+            long[] ids = result.get();
+            for (int i = 0; i < ids.length; i++) {
+                assertThat(unique.add(ids[i])).isTrue();
+                if (i > 0) {
+                    assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                }
+                assertThat(ids[i] & SnowflakeIdGenerator.MAX_NODE_ID).isEqualTo(7);
+            }
+        }
+        assertThat(unique).hasSize(threads * idsPerThread);
+    }
+
+    @Test
+    void shouldStayMonotonicWhenClockGoesBackwards() {
+        // Given
+        MutableClock clock = new MutableClock(Instant.parse("2026-10-17T10:00:00Z"));
+        SnowflakeIdGenerator idGenerator = new SnowflakeIdGenerator(1, clock);
+        long first = idGenerator.nextId();
+
+        // When
+        clock.instant = clock.instant.minusSeconds(5);
+        long second = idGenerator.nextId();
+
+        // Then
+        assertThat(second).isGreaterThan(first);
+    }
+
+    @Test
+    void shouldNotCollideAcrossNodes() {
+        // Given
+        Clock clock = Clock.fixed(Instant.parse("2026-10-17T10:00:00Z"), ZoneOffset.UTC);
+        SnowflakeIdGenerator node1 = new SnowflakeIdGenerator(1, clock);
+        SnowflakeIdGenerator node2 = new SnowflakeIdGenerator(2, clock);
+
+        // When
+        long id1 = node1.nextId();
+        long id2 = node2.nextId();
+
+        // Then
+        assertThat(id1).isNotEqualTo(id2);
+    }
+
+    @Test
+    void shouldFormatFixedWidthSortableOrderNumbers() {
+        // Given
+        SnowflakeOrderNumberGenerator generator = new SnowflakeOrderNumberGenerator(new SnowflakeIdGenerator(3));
+
+        // When
+        String first = generator.nextOrderNumber();
+        String second = generator.nextOrderNumber();
+
+        // Then
+        assertThat(first).matches("ORD-[0-9A-HJKMNP-TV-Z]{13}");
+        assertThat(second).hasSameSizeAs(first);
+        assertThat(second.compareTo(first)).isPositive();
+        assertThat(SnowflakeOrderNumberGenerator.format(Long.MAX_VALUE)).isEqualTo("ORD-7ZZZZZZZZZZZZ");
+    }
+
+    @Test
+    void shouldRejectOutOfRangeNodeId() {
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(1024));
+        assertThrows(IllegalArgumentException.class, () -> new SnowflakeIdGenerator(-1));
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}